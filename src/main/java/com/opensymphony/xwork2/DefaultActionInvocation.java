@@ -17,6 +17,7 @@ package com.opensymphony.xwork2;
 
 import com.opensymphony.xwork2.config.ConfigurationException;
 import com.opensymphony.xwork2.config.entities.ActionConfig;
+import com.opensymphony.xwork2.config.entities.ActionDispatchTable;
 import com.opensymphony.xwork2.config.entities.InterceptorMapping;
 import com.opensymphony.xwork2.config.entities.ResultConfig;
 import com.opensymphony.xwork2.inject.Container;
@@ -26,15 +27,22 @@ import com.opensymphony.xwork2.ognl.OgnlUtil;
 import com.opensymphony.xwork2.util.ValueStack;
 import com.opensymphony.xwork2.util.ValueStackFactory;
 import com.opensymphony.xwork2.util.profiling.UtilTimerStack;
+import com.opensymphony.xwork2.util.reflection.ReflectionContextState;
 import ognl.MethodFailedException;
 import ognl.NoSuchPropertyException;
+import ognl.OgnlContext;
+import ognl.OgnlRuntime;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 
 /**
@@ -422,9 +430,15 @@ public class DefaultActionInvocation implements ActionInvocation {
     }
 
     protected void createInterceptors(ActionProxy proxy) {
-        // Get a new List so we don't get problems with the iterator if someone changes the original list
-        List<InterceptorMapping> interceptorList = new ArrayList<>(proxy.getConfig().getInterceptors());
-        interceptors = interceptorList.iterator();
+        InterceptorMapping[] interceptorChain = proxy.getConfig().getInterceptorChain();
+        if (interceptorChain != null) {
+            // the chain of a built config never changes, so it can be walked directly
+            interceptors = new InterceptorIterator(interceptorChain);
+        } else {
+            // Get a new List so we don't get problems with the iterator if someone changes the original list
+            List<InterceptorMapping> interceptorList = new ArrayList<>(proxy.getConfig().getInterceptors());
+            interceptors = interceptorList.iterator();
+        }
     }
 
     protected String invokeAction(Object action, ActionConfig actionConfig) throws Exception {
@@ -438,8 +452,13 @@ public class DefaultActionInvocation implements ActionInvocation {
 
             Object methodResult;
             try {
-                // 源码解析: 执行action, 通过OGNL实现
-                methodResult = ognlUtil.getValue(methodName + "()", getStack().getContext(), action);
+                Method method = findActionMethod(action, actionConfig, methodName);
+                if (method != null) {
+                    methodResult = invokeActionMethod(action, method);
+                } else {
+                    // 源码解析: 执行action, 通过OGNL实现
+                    methodResult = ognlUtil.getValue(methodName + "()", getStack().getContext(), action);
+                }
             } catch (MethodFailedException e) {
                 // if reason is missing method,  try checking UnknownHandlers
                 if (e.getReason() instanceof NoSuchMethodException) {
@@ -488,6 +507,62 @@ public class DefaultActionInvocation implements ActionInvocation {
         }
     }
 
+    /**
+     * Looks up the action method in the dispatch table of the given {@link ActionConfig}, resolving it on first use.
+     * Returns null when the method cannot be invoked directly and the invocation must go through OGNL, e.g. the method
+     * doesn't exist and unknown handlers have to be consulted, or method execution is denied in the current context.
+     *
+     * @param action the action instance
+     * @param actionConfig current ActionConfig
+     * @param methodName name of the action method
+     * @return resolved method or null
+     */
+    protected Method findActionMethod(Object action, ActionConfig actionConfig, String methodName) {
+        Map<String, Object> context = getStack().getContext();
+        if (actionConfig == null || !(context instanceof OgnlContext) || ReflectionContextState.isDenyMethodExecution(context)) {
+            return null;
+        }
+
+        Class<?> actionClass = action.getClass();
+        ActionDispatchTable dispatchTable = actionConfig.getDispatchTable();
+        Method method = dispatchTable.get(actionClass, methodName);
+        if (method == null) {
+            try {
+                method = actionClass.getMethod(methodName);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                return null;
+            }
+            dispatchTable.put(actionClass, methodName, method);
+        }
+
+        // access rules can differ per value stack, so they are checked for each invocation
+        if (!OgnlRuntime.isMethodAccessible((OgnlContext) context, action, method, null)) {
+            return null;
+        }
+        return method;
+    }
+
+    /**
+     * Invokes resolved action method, failures are reported the same way as when invoking through OGNL
+     *
+     * @param action the action instance
+     * @param method method to invoke
+     * @return the result of the action method
+     * @throws MethodFailedException wrapping the original cause
+     */
+    protected Object invokeActionMethod(Object action, Method method) throws MethodFailedException {
+        try {
+            return OgnlRuntime.invokeMethod(action, method, OgnlRuntime.NoArguments);
+        } catch (InvocationTargetException e) {
+            throw new MethodFailedException(action, method.getName(), e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new MethodFailedException(action, method.getName(), e);
+        }
+    }
+
     /**
      * Save the result to be used later.
      * @param actionConfig current ActionConfig
@@ -529,4 +604,32 @@ public class DefaultActionInvocation implements ActionInvocation {
         return that;
     }
 
+    /**
+     * Walks the shared interceptor array of an action config without copying it
+     */
+    private static final class InterceptorIterator implements Iterator<InterceptorMapping> {
+
+        private final InterceptorMapping[] interceptorChain;
+        private int index;
+
+        InterceptorIterator(InterceptorMapping[] interceptorChain) {
+            this.interceptorChain = interceptorChain;
+        }
+
+        public boolean hasNext() {
+            return index < interceptorChain.length;
+        }
+
+        public InterceptorMapping next() {
+            if (index >= interceptorChain.length) {
+                throw new NoSuchElementException();
+            }
+            return interceptorChain[index++];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Interceptor chain cannot be modified");
+        }
+    }
+
 }
@@ -47,13 +47,16 @@ import java.util.concurrent.locks.ReentrantLock;
 public class ConfigurationManager {
 
     protected static final Logger LOG = LogManager.getLogger(ConfigurationManager.class);
-    protected Configuration configuration;
+    protected volatile Configuration configuration;
     protected Lock providerLock = new ReentrantLock();
+    /** guards creating, reloading and destroying the configuration, readers of the configuration never wait on it */
+    protected final ReentrantLock configurationLock = new ReentrantLock();
+    private Configuration loadingConfiguration; // guarded by configurationLock
     private List<ContainerProvider> containerProviders = new CopyOnWriteArrayList<>();
     private List<PackageProvider> packageProviders = new CopyOnWriteArrayList<>();
     protected String defaultFrameworkBeanName;
-    private boolean providersChanged = false;
-    private boolean reloadConfigs = true; // for the first time
+    private volatile boolean providersChanged = false;
+    private volatile boolean reloadConfigs = true; // for the first time
 
     public ConfigurationManager() {
         this("xwork");
@@ -64,34 +67,71 @@ public class ConfigurationManager {
     }
 
     /**
+     * Returns the current configuration snapshot. Once the configuration was loaded, this method doesn't block:
+     * when a reload is needed it's done by the first thread which gets the chance, other threads keep
+     * using the snapshot published before the reload.
+     *
      * @return the current XWork configuration object. By default an instance of DefaultConfiguration will be returned
      *
      * @see com.opensymphony.xwork2.config.impl.DefaultConfiguration
      */
-    public synchronized Configuration getConfiguration() {
-        if (configuration == null) {
-            // 源码解析: 创建DefaultConfiguration实例
-            setConfiguration(createConfiguration(defaultFrameworkBeanName));
-            try {
-                // 源码解析: 根据注册的ContainerProvider重新加载容器
-                configuration.reloadContainer(getContainerProviders());
-            } catch (ConfigurationException e) {
-                setConfiguration(null);
-                throw new ConfigurationException("Unable to load configuration.", e);
+    public Configuration getConfiguration() {
+        Configuration current = configuration;
+        if (current != null && configurationLock.isHeldByCurrentThread()) {
+            // called back by a provider while this thread loads or reloads the configuration,
+            // don't start another reload before the flags were reset
+            return loadingConfiguration != null ? loadingConfiguration : current;
+        }
+        if (current == null) {
+            return initConfiguration();
+        }
+
+        if (reloadConfigs || providersChanged) {
+            if (configurationLock.tryLock()) {
+                try {
+                    // 源码解析: 根据条件重新加载容器
+                    conditionalReload();
+                } finally {
+                    configurationLock.unlock();
+                }
             }
-        } else {
-            // 源码解析: 根据条件重新加载容器
-            conditionalReload();
+            return configuration;
         }
 
-        return configuration;
+        return current;
+    }
+
+    private Configuration initConfiguration() {
+        configurationLock.lock();
+        try {
+            if (loadingConfiguration != null) {
+                // called back by a provider while the configuration is being loaded by this thread
+                return loadingConfiguration;
+            }
+            if (configuration == null) {
+                // 源码解析: 创建DefaultConfiguration实例
+                loadingConfiguration = createConfiguration(defaultFrameworkBeanName);
+                try {
+                    // 源码解析: 根据注册的ContainerProvider重新加载容器
+                    loadingConfiguration.reloadContainer(getContainerProviders());
+                    setConfiguration(loadingConfiguration);
+                } catch (ConfigurationException e) {
+                    throw new ConfigurationException("Unable to load configuration.", e);
+                } finally {
+                    loadingConfiguration = null;
+                }
+            }
+            return configuration;
+        } finally {
+            configurationLock.unlock();
+        }
     }
 
     protected Configuration createConfiguration(String beanName) {
         return new DefaultConfiguration(beanName);
     }
 
-    public synchronized void setConfiguration(Configuration configuration) {
+    public void setConfiguration(Configuration configuration) {
         this.configuration = configuration;
     }
 
@@ -170,35 +210,45 @@ public class ConfigurationManager {
     /**
      * Destroy its managing Configuration instance
      */
-    public synchronized void destroyConfiguration() {
-        clearContainerProviders(); // let's destroy the ConfigurationProvider first
-        containerProviders = new CopyOnWriteArrayList<ContainerProvider>();
-        if (configuration != null)
-            configuration.destroy(); // let's destroy it first, before nulling it.
-        configuration = null;
+    public void destroyConfiguration() {
+        configurationLock.lock();
+        try {
+            clearContainerProviders(); // let's destroy the ConfigurationProvider first
+            containerProviders = new CopyOnWriteArrayList<ContainerProvider>();
+            if (configuration != null)
+                configuration.destroy(); // let's destroy it first, before nulling it.
+            configuration = null;
+        } finally {
+            configurationLock.unlock();
+        }
     }
 
 
     /**
      * Reloads the Configuration files if the configuration files indicate that they need to be reloaded.
      */
-    public synchronized void conditionalReload() {
-        if (reloadConfigs || providersChanged) {
-            LOG.debug("Checking ConfigurationProviders for reload.");
-            List<ContainerProvider> providers = getContainerProviders();
-            // 源码解析: 遍历ContainerProvider, 决定是否重新加载
-            boolean reload = needReloadContainerProviders(providers);
-            if (!reload) {
-                // 源码解析: 遍历PackageProvider, 决定是否重新加载
-                reload = needReloadPackageProviders();
-            }
-            if (reload) {
-                // 源码解析: 重新加载容器
-                reloadProviders(providers);
+    public void conditionalReload() {
+        configurationLock.lock();
+        try {
+            if (configuration != null && (reloadConfigs || providersChanged)) {
+                LOG.debug("Checking ConfigurationProviders for reload.");
+                List<ContainerProvider> providers = getContainerProviders();
+                // 源码解析: 遍历ContainerProvider, 决定是否重新加载
+                boolean reload = needReloadContainerProviders(providers);
+                if (!reload) {
+                    // 源码解析: 遍历PackageProvider, 决定是否重新加载
+                    reload = needReloadPackageProviders();
+                }
+                if (reload) {
+                    // 源码解析: 重新加载容器
+                    reloadProviders(providers);
+                }
+                // 源码解析: 更新reloadConfigs和providersChanged
+                updateReloadConfigsFlag();
+                providersChanged = false;
             }
-            // 源码解析: 更新reloadConfigs和providersChanged
-            updateReloadConfigsFlag();
-            providersChanged = false;
+        } finally {
+            configurationLock.unlock();
         }
     }
 
@@ -240,11 +290,37 @@ public class ConfigurationManager {
                 LOG.warn("error while destroying configuration provider [{}]", containerProvider, e);
             }
         }
-        packageProviders = this.configuration.reloadContainer(providers);
+        swapConfiguration(providers);
     }
 
-    public synchronized void reload() {
-        packageProviders = getConfiguration().reloadContainer(getContainerProviders());
+    public void reload() {
+        configurationLock.lock();
+        try {
+            getConfiguration();
+            swapConfiguration(getContainerProviders());
+        } finally {
+            configurationLock.unlock();
+        }
+    }
+
+    /**
+     * Builds a new configuration with its container and runtime configuration aside of the current one and
+     * publishes it once completed. The previous configuration isn't destroyed, as requests which already got it
+     * still read its packages, it's simply left to the garbage collector.
+     * If the new configuration fails to load, the previous one stays in place.
+     *
+     * @param providers container providers to load the configuration from
+     */
+    private void swapConfiguration(List<ContainerProvider> providers) {
+        Configuration newConfiguration = createConfiguration(defaultFrameworkBeanName);
+        loadingConfiguration = newConfiguration;
+        try {
+            List<PackageProvider> newPackageProviders = newConfiguration.reloadContainer(providers);
+            packageProviders = newPackageProviders;
+            setConfiguration(newConfiguration);
+        } finally {
+            loadingConfiguration = null;
+        }
     }
 
 }
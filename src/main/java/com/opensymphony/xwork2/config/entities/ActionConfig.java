@@ -66,6 +66,11 @@ public class ActionConfig extends Located implements Serializable {
     protected boolean strictMethodInvocation = true;
     protected AllowedMethods allowedMethods;
 
+    // resolved action methods, runtime data not being a part of the configuration
+    private transient volatile ActionDispatchTable dispatchTable;
+    // interceptors copied into an array when the config is built, shared by all invocations
+    private transient InterceptorMapping[] interceptorChain;
+
     protected ActionConfig(String packageName, String name, String className) {
         this.packageName = packageName;
         this.name = name;
@@ -110,6 +115,16 @@ public class ActionConfig extends Located implements Serializable {
         return interceptors;
     }
 
+    /**
+     * Returns interceptors of this action as an array prepared when the config was built, so invocations
+     * don't have to copy the list. The array is shared and must not be modified.
+     *
+     * @return the interceptors or null if this config wasn't created by the {@link Builder}
+     */
+    public InterceptorMapping[] getInterceptorChain() {
+        return interceptorChain;
+    }
+
     public Set<String> getAllowedMethods() {
         return allowedMethods.list();
     }
@@ -146,6 +161,24 @@ public class ActionConfig extends Located implements Serializable {
         return strictMethodInvocation;
     }
 
+    /**
+     * Returns table of already resolved action methods, it's created on first use
+     *
+     * @return dispatch table of this action
+     */
+    public ActionDispatchTable getDispatchTable() {
+        ActionDispatchTable table = dispatchTable;
+        if (table == null) {
+            synchronized (this) {
+                table = dispatchTable;
+                if (table == null) {
+                    dispatchTable = table = new ActionDispatchTable();
+                }
+            }
+        }
+        return table;
+    }
+
     @Override public boolean equals(Object o) {
         if (this == o) {
             return true;
@@ -357,6 +390,7 @@ public class ActionConfig extends Located implements Serializable {
             target.params = Collections.unmodifiableMap(target.params);
             target.results = Collections.unmodifiableMap(target.results);
             target.interceptors = Collections.unmodifiableList(target.interceptors);
+            target.interceptorChain = target.interceptors.toArray(new InterceptorMapping[target.interceptors.size()]);
             target.exceptionMappings = Collections.unmodifiableList(target.exceptionMappings);
             target.allowedMethods = AllowedMethods.build(target.strictMethodInvocation, allowedMethods, methodRegex != null ? methodRegex : DEFAULT_METHOD_REGEX);
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.config.entities;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds action methods already resolved for an {@link ActionConfig}, keyed by action class and method name.
+ * The table is filled lazily when the action is invoked for the first time and reused by later requests.
+ */
+public class ActionDispatchTable {
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Method>> methods = new ConcurrentHashMap<>();
+
+    /**
+     * @param actionClass class of the action instance
+     * @param methodName  name of the action method
+     * @return the resolved method or null if it wasn't resolved yet
+     */
+    public Method get(Class<?> actionClass, String methodName) {
+        ConcurrentMap<String, Method> classMethods = methods.get(actionClass);
+        return classMethods != null ? classMethods.get(methodName) : null;
+    }
+
+    public void put(Class<?> actionClass, String methodName, Method method) {
+        ConcurrentMap<String, Method> classMethods = methods.get(actionClass);
+        if (classMethods == null) {
+            ConcurrentMap<String, Method> newMethods = new ConcurrentHashMap<>();
+            classMethods = methods.putIfAbsent(actionClass, newMethods);
+            if (classMethods == null) {
+                classMethods = newMethods;
+            }
+        }
+        classMethods.put(methodName, method);
+    }
+
+}
@@ -39,6 +39,9 @@ public class ResultConfig extends Located implements Serializable {
     protected String className;
     protected String name;
 
+    // resolved parameter setters, runtime data not being a part of the configuration
+    private transient volatile ResultPropertySetters propertySetters;
+
     protected ResultConfig(String name, String className) {
         this.name = name;
         this.className = className;
@@ -64,6 +67,24 @@ public class ResultConfig extends Located implements Serializable {
         return params;
     }
 
+    /**
+     * Returns setters already resolved for parameters of this result, they're created on first use
+     *
+     * @return property setters of this result
+     */
+    public ResultPropertySetters getPropertySetters() {
+        ResultPropertySetters setters = propertySetters;
+        if (setters == null) {
+            synchronized (this) {
+                setters = propertySetters;
+                if (setters == null) {
+                    propertySetters = setters = new ResultPropertySetters();
+                }
+            }
+        }
+        return setters;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
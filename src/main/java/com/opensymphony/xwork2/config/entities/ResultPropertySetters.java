@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.config.entities;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds property setters already resolved for parameters of a {@link ResultConfig}, keyed by result class.
+ * The setters are resolved when the result is built for the first time and reused by later requests.
+ */
+public class ResultPropertySetters {
+
+    private final ConcurrentMap<Class<?>, PropertySetter[]> setters = new ConcurrentHashMap<>();
+
+    /**
+     * @param resultClass class of the result instance
+     * @return setters for all the result parameters or null if they weren't resolved yet
+     */
+    public PropertySetter[] get(Class<?> resultClass) {
+        return setters.get(resultClass);
+    }
+
+    public void put(Class<?> resultClass, PropertySetter[] resultSetters) {
+        setters.put(resultClass, resultSetters);
+    }
+
+    /**
+     * A single result parameter together with the setter method used to apply it. The method is null if the
+     * parameter cannot be set directly and has to be set via the {@link com.opensymphony.xwork2.util.reflection.ReflectionProvider}.
+     */
+    public static final class PropertySetter {
+
+        private final String name;
+        private final String value;
+        private final Method method;
+
+        public PropertySetter(String name, String value, Method method) {
+            this.name = name;
+            this.value = value;
+            this.method = method;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+    }
+
+}
@@ -17,7 +17,9 @@
  */
 package com.opensymphony.xwork2.config.impl;
 
+import com.opensymphony.xwork2.util.BoundedConcurrentCache;
 import com.opensymphony.xwork2.util.PatternMatcher;
+import com.opensymphony.xwork2.util.WildcardHelper;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +33,9 @@ import java.util.*;
  * project. Patterns will be matched in the order they were added. The first 
  * match wins, so more specific patterns should be defined before less specific 
  * patterns.
+ *
+ * <p> Patterns are indexed by their literal prefix, so only patterns which can
+ * possibly match are tried, and results of recent matches are cached. </p>
  * 
  * @since 2.1
  */
@@ -40,6 +45,16 @@ public abstract class AbstractMatcher<E> implements Serializable {
      */
     private static final Logger log = LogManager.getLogger(AbstractMatcher.class);
 
+    /**
+     * <p> Maximum number of match results kept in the cache </p>
+     */
+    private static final int MATCH_CACHE_SIZE = 1000;
+
+    /**
+     * <p> Cached in place of null to remember paths matching no pattern </p>
+     */
+    private static final Object NO_MATCH = new Object();
+
     /**
      * <p> Handles all wildcard pattern matching. </p>
      */
@@ -49,7 +64,16 @@ public abstract class AbstractMatcher<E> implements Serializable {
      * <p> The compiled patterns and their associated target objects </p>
      */
     List<Mapping<E>> compiledPatterns = new ArrayList<>();
-    ;
+
+    /**
+     * <p> Index of the compiled patterns by literal prefix, built on first match </p>
+     */
+    private transient volatile PrefixIndex<E> prefixIndex;
+
+    /**
+     * <p> Recent match results keyed by the matched path </p>
+     */
+    private transient volatile BoundedConcurrentCache<String, Object> matchCache;
     
     public AbstractMatcher(PatternMatcher<?> helper) {
         this.wildcard = (PatternMatcher<Object>) helper;
@@ -86,22 +110,79 @@ public abstract class AbstractMatcher<E> implements Serializable {
             log.debug("Compiling pattern '{}'", name);
 
             pattern = wildcard.compilePattern(name);
-            compiledPatterns.add(new Mapping<E>(name, pattern, target));
+            compiledPatterns.add(new Mapping<E>(name, pattern, target, compiledPatterns.size(),
+                    literalPrefix(name), literalSuffix(name)));
 
             if (looseMatch) {
                 int lastStar = name.lastIndexOf('*');
                 if (lastStar > 1 && lastStar == name.length() - 1) {
                     if (name.charAt(lastStar - 1) != '*') {
-                        pattern = wildcard.compilePattern(name.substring(0, lastStar - 1));
-                        compiledPatterns.add(new Mapping<E>(name, pattern, target));
+                        String looseName = name.substring(0, lastStar - 1);
+                        pattern = wildcard.compilePattern(looseName);
+                        compiledPatterns.add(new Mapping<E>(name, pattern, target, compiledPatterns.size(),
+                                literalPrefix(looseName), literalSuffix(looseName)));
                     }
                 }
             }
+            resetIndex();
         }
     }
     
     public void freeze() {
         compiledPatterns = Collections.unmodifiableList(new ArrayList<Mapping<E>>());
+        resetIndex();
+    }
+
+    private void resetIndex() {
+        prefixIndex = null;
+        matchCache = null;
+    }
+
+    private boolean isWildcardHelper() {
+        Object matcher = wildcard;
+        return matcher instanceof WildcardHelper;
+    }
+
+    /**
+     * <p> Returns the part of the pattern which every matching path must start with.
+     * Only patterns of {@link WildcardHelper} are understood, other pattern matchers
+     * get no literal prefix and their patterns are always tried. </p>
+     *
+     * @param pattern The pattern
+     * @return The literal prefix, may be empty
+     */
+    protected String literalPrefix(String pattern) {
+        if (!isWildcardHelper()) {
+            return "";
+        }
+        int end = 0;
+        while (end < pattern.length() && pattern.charAt(end) != '*' && pattern.charAt(end) != '\\') {
+            end++;
+        }
+        return pattern.substring(0, end);
+    }
+
+    /**
+     * <p> Returns the part of the pattern which every matching path must end with,
+     * see {@link #literalPrefix(String)}. A pattern without any wildcard, like the
+     * loose part of "user!*", is entirely covered by its prefix and gets no suffix,
+     * so prefix and suffix never overlap. </p>
+     *
+     * @param pattern The pattern
+     * @return The literal suffix, may be empty
+     */
+    protected String literalSuffix(String pattern) {
+        if (!isWildcardHelper()) {
+            return "";
+        }
+        int start = pattern.length();
+        while (start > 0 && pattern.charAt(start - 1) != '*' && pattern.charAt(start - 1) != '\\') {
+            start--;
+        }
+        if (start == 0) {
+            return "";
+        }
+        return pattern.substring(start);
     }
 
     /**
@@ -114,21 +195,51 @@ public abstract class AbstractMatcher<E> implements Serializable {
         E config = null;
 
         if (compiledPatterns.size() > 0) {
+            BoundedConcurrentCache<String, Object> cache = getMatchCache();
+            Object cached = cache.get(potentialMatch);
+            if (cached != null) {
+                return cached == NO_MATCH ? null : (E) cached;
+            }
+
             log.debug("Attempting to match '{}' to a wildcard pattern, {} available", potentialMatch, compiledPatterns.size());
 
-            Map<String,String> vars = new LinkedHashMap<String,String>();
-            for (Mapping<E> m : compiledPatterns) {
+            Map<String,String> vars = null;
+            for (Mapping<E> m : getPrefixIndex().candidates(potentialMatch)) {
+                if (!m.matchesSuffix(potentialMatch)) {
+                    continue;
+                }
+                if (vars == null) {
+                    vars = new LinkedHashMap<String,String>();
+                }
                 if (wildcard.match(vars, potentialMatch, m.getPattern())) {
                     log.debug("Value matches pattern '{}'", m.getOriginalPattern());
                     config = convert(potentialMatch, m.getTarget(), vars);
                     break;
                 }
             }
+
+            cache.putIfAbsent(potentialMatch, config != null ? config : NO_MATCH);
         }
 
         return config;
     }
 
+    private PrefixIndex<E> getPrefixIndex() {
+        PrefixIndex<E> index = prefixIndex;
+        if (index == null) {
+            prefixIndex = index = new PrefixIndex<E>(compiledPatterns);
+        }
+        return index;
+    }
+
+    private BoundedConcurrentCache<String, Object> getMatchCache() {
+        BoundedConcurrentCache<String, Object> cache = matchCache;
+        if (cache == null) {
+            matchCache = cache = new BoundedConcurrentCache<String, Object>(MATCH_CACHE_SIZE);
+        }
+        return cache;
+    }
+
     /**
      * <p> Clones the target object and its children, replacing various
      * properties with the values of the wildcard-matched strings. </p>
@@ -225,17 +336,46 @@ public abstract class AbstractMatcher<E> implements Serializable {
          */
         private E config;
 
+        /**
+         * <p> Position of the pattern in declaration order. </p>
+         */
+        private int order;
+
+        /**
+         * <p> Literal start and end of the pattern. </p>
+         */
+        private String prefix;
+        private String suffix;
+
         /**
          * <p> Contructs a read-only Mapping instance. </p>
          *
          * @param original The original pattern
          * @param pattern The compiled pattern
          * @param config  The original object
+         * @param order   The position of the pattern
+         * @param prefix  The literal prefix of the pattern
+         * @param suffix  The literal suffix of the pattern
          */
-        public Mapping(String original, Object pattern, E config) {
+        public Mapping(String original, Object pattern, E config, int order, String prefix, String suffix) {
             this.original = original;
             this.pattern = pattern;
             this.config = config;
+            this.order = order;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        /**
+         * <p> Cheap check that the path ends the way the pattern requires, prefix
+         * is already checked by the {@link PrefixIndex}. Prefix and suffix are
+         * separated by a wildcard, or the suffix is empty, so their lengths add up. </p>
+         *
+         * @param path The path to be matched
+         * @return False if the pattern can't match the path
+         */
+        public boolean matchesSuffix(String path) {
+            return path.length() >= prefix.length() + suffix.length() && path.endsWith(suffix);
         }
 
         /**
@@ -265,4 +405,72 @@ public abstract class AbstractMatcher<E> implements Serializable {
             return this.original;
         }
     }
+
+    /**
+     * <p> Prefix tree of the literal prefixes of the compiled patterns. Each node
+     * holds, in declaration order, all the patterns whose prefix is a prefix of
+     * the node path, so looking up a path yields the only patterns that can match it
+     * without changing which pattern wins. </p>
+     */
+    private static class PrefixIndex<E> {
+
+        private final Node<E> root = new Node<>();
+
+        PrefixIndex(List<Mapping<E>> mappings) {
+            for (Mapping<E> mapping : mappings) {
+                Node<E> node = root;
+                for (int i = 0; i < mapping.prefix.length(); i++) {
+                    Character c = mapping.prefix.charAt(i);
+                    Node<E> child = node.children.get(c);
+                    if (child == null) {
+                        child = new Node<>();
+                        node.children.put(c, child);
+                    }
+                    node = child;
+                }
+                node.own.add(mapping);
+            }
+            root.collect(Collections.<Mapping<E>>emptyList());
+        }
+
+        List<Mapping<E>> candidates(String path) {
+            Node<E> node = root;
+            List<Mapping<E>> candidates = root.candidates;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.get(path.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                candidates = node.candidates;
+            }
+            return candidates;
+        }
+
+        private static class Node<E> {
+            final Map<Character, Node<E>> children = new HashMap<>();
+            final List<Mapping<E>> own = new ArrayList<>(1);
+            List<Mapping<E>> candidates;
+
+            void collect(List<Mapping<E>> inherited) {
+                if (own.isEmpty()) {
+                    candidates = inherited;
+                } else {
+                    List<Mapping<E>> merged = new ArrayList<>(inherited.size() + own.size());
+                    int i = 0;
+                    int j = 0;
+                    while (i < inherited.size() || j < own.size()) {
+                        if (j == own.size() || (i < inherited.size() && inherited.get(i).order < own.get(j).order)) {
+                            merged.add(inherited.get(i++));
+                        } else {
+                            merged.add(own.get(j++));
+                        }
+                    }
+                    candidates = Collections.unmodifiableList(merged);
+                }
+                for (Node<E> child : children.values()) {
+                    child.collect(candidates);
+                }
+            }
+        }
+    }
 }
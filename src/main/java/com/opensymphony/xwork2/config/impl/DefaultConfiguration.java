@@ -54,7 +54,8 @@ public class DefaultConfiguration implements Configuration {
 
     // Programmatic Action Configurations
     protected Map<String, PackageConfig> packageContexts = new LinkedHashMap<>();
-    protected RuntimeConfiguration runtimeConfiguration;
+    protected volatile RuntimeConfiguration runtimeConfiguration;
+    protected volatile NamespaceIndex namespaceIndex;
     protected Container container;
     protected String defaultFrameworkBeanName;
     protected Set<String> loadedFileNames = new TreeSet<>();
@@ -100,6 +101,15 @@ public class DefaultConfiguration implements Configuration {
         return runtimeConfiguration;
     }
 
+    /**
+     * Returns the index of the namespaces of all packages, built together with the runtime configuration.
+     *
+     * @return the namespace index or null if packages were added or removed since the runtime configuration was built
+     */
+    public NamespaceIndex getNamespaceIndex() {
+        return namespaceIndex;
+    }
+
     /**
      * @return the container
      */
@@ -122,9 +132,11 @@ public class DefaultConfiguration implements Configuration {
             }
         }
         packageContexts.put(name, packageContext);
+        namespaceIndex = null;
     }
 
     public PackageConfig removePackageConfig(String packageName) {
+        namespaceIndex = null;
         return packageContexts.remove(packageName);
     }
 
@@ -132,6 +144,7 @@ public class DefaultConfiguration implements Configuration {
      * Allows the configuration to clean up any resources used
      */
     public void destroy() {
+        namespaceIndex = null;
         packageContexts.clear();
         loadedFileNames.clear();
     }
@@ -335,8 +348,10 @@ public class DefaultConfiguration implements Configuration {
     protected synchronized RuntimeConfiguration buildRuntimeConfiguration() throws ConfigurationException {
         Map<String, Map<String, ActionConfig>> namespaceActionConfigs = new LinkedHashMap<>();
         Map<String, String> namespaceConfigs = new LinkedHashMap<>();
+        Set<String> namespaces = new HashSet<>();
 
         for (PackageConfig packageConfig : packageContexts.values()) {
+            namespaces.add(packageConfig.getNamespace());
 
             if (!packageConfig.isAbstract()) {
                 String namespace = packageConfig.getNamespace();
@@ -371,6 +386,7 @@ public class DefaultConfiguration implements Configuration {
         PatternMatcher<int[]> matcher = container.getInstance(PatternMatcher.class);
 
         // 源码解析: 创建运行时配置
+        namespaceIndex = new NamespaceIndex(namespaces);
         return new RuntimeConfigurationImpl(Collections.unmodifiableMap(namespaceActionConfigs),
                 Collections.unmodifiableMap(namespaceConfigs), matcher);
     }
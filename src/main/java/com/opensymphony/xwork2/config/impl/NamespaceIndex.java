@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.config.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix tree of the configured namespaces, used to find the longest namespace
+ * matching a request path in time proportional to the path length instead of the number of packages.
+ * Instances are built once per runtime configuration and can be shared by any number of threads.
+ */
+public class NamespaceIndex {
+
+    private final Node root;
+
+    public NamespaceIndex(Collection<String> namespaces) {
+        NodeBuilder rootBuilder = new NodeBuilder();
+        for (String namespace : namespaces) {
+            if (namespace == null) {
+                continue;
+            }
+            NodeBuilder current = rootBuilder;
+            for (int i = 0; i < namespace.length(); i++) {
+                Character c = namespace.charAt(i);
+                NodeBuilder next = current.children.get(c);
+                if (next == null) {
+                    next = new NodeBuilder();
+                    current.children.put(c, next);
+                }
+                current = next;
+            }
+            current.namespace = namespace;
+        }
+        root = rootBuilder.build();
+    }
+
+    /**
+     * Finds the longest namespace which is equal to the given path or is followed by a slash in it.
+     *
+     * @param path path without the action name, e.g. <code>/admin/users</code>
+     * @return the longest matching namespace or an empty string if none matches
+     */
+    public String findLongestNamespace(String path) {
+        String longest = "";
+        Node node = root;
+        int length = path.length();
+        for (int i = 0; i < length && node != null; i++) {
+            node = node.child(path.charAt(i));
+            if (node != null && node.namespace != null && (i + 1 == length || path.charAt(i + 1) == '/')) {
+                longest = node.namespace;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * @param namespace namespace to check
+     * @return true if exactly such namespace was indexed
+     */
+    public boolean containsNamespace(String namespace) {
+        Node node = root;
+        for (int i = 0; i < namespace.length() && node != null; i++) {
+            node = node.child(namespace.charAt(i));
+        }
+        return node != null && node.namespace != null;
+    }
+
+    private static final class Node {
+        private final char[] chars;
+        private final Node[] children;
+        private final String namespace;
+
+        Node(char[] chars, Node[] children, String namespace) {
+            this.chars = chars;
+            this.children = children;
+            this.namespace = namespace;
+        }
+
+        Node child(char c) {
+            int low = 0;
+            int high = chars.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = chars[mid];
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class NodeBuilder {
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+        private String namespace;
+
+        Node build() {
+            char[] chars = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, NodeBuilder> entry : children.entrySet()) {
+                chars[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(chars, nodes, namespace);
+        }
+    }
+
+}
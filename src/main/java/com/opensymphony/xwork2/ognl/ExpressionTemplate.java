@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * Indexed property path normalized into a template shared by all its indexes, e.g. <code>items[0].qty</code>
+ * and <code>items[17].qty</code> are both evaluated by the same parsed tree <code>items[#__ognl_indexes[0]].qty</code>.
+ * The indexes are bound as a single context variable while the template is evaluated, so a template
+ * parsed once for an expression can be reused by each evaluation of it.
+ * </p>
+ *
+ * <p>
+ * Only paths built from identifiers, decimal integer indexes and quoted string indexes without escapes are
+ * normalized, so the template always evaluates the same way as the original expression.
+ * </p>
+ */
+final class ExpressionTemplate {
+
+    static final String INDEXES_VARIABLE = "__ognl_indexes";
+
+    private static final int MAX_INDEXES = 16;
+
+    private final String template;
+    private final Object[] indexes;
+
+    private ExpressionTemplate(String template, Object[] indexes) {
+        this.template = template;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @param expression the expression
+     * @return the template or null if the expression isn't a simple indexed property path
+     */
+    static ExpressionTemplate parse(String expression) {
+        int length = expression.length();
+        if (length == 0 || expression.indexOf('[') == -1 || !Character.isJavaIdentifierStart(expression.charAt(0))) {
+            return null;
+        }
+
+        StringBuilder template = new StringBuilder(length + 32);
+        Object[] found = new Object[MAX_INDEXES];
+        int count = 0;
+        int i = 0;
+        boolean expectIdentifier = true;
+        while (i < length) {
+            char ch = expression.charAt(i);
+            if (expectIdentifier) {
+                if (!Character.isJavaIdentifierStart(ch)) {
+                    return null;
+                }
+                int start = i++;
+                while (i < length && Character.isJavaIdentifierPart(expression.charAt(i))) {
+                    i++;
+                }
+                template.append(expression, start, i);
+                expectIdentifier = false;
+            } else if (ch == '.') {
+                template.append('.');
+                expectIdentifier = true;
+                i++;
+            } else if (ch == '[') {
+                int end = expression.indexOf(']', i + 1);
+                if (end == -1 || count == MAX_INDEXES) {
+                    return null;
+                }
+                Object index = parseIndex(expression, i + 1, end);
+                if (index == null) {
+                    return null;
+                }
+                found[count] = index;
+                template.append("[#").append(INDEXES_VARIABLE).append('[').append(count).append("]]");
+                count++;
+                i = end + 1;
+            } else {
+                return null;
+            }
+        }
+        if (expectIdentifier || count == 0) {
+            return null;
+        }
+
+        Object[] indexes = new Object[count];
+        System.arraycopy(found, 0, indexes, 0, count);
+        return new ExpressionTemplate(template.toString(), indexes);
+    }
+
+    /**
+     * Converts the index literal to the same value OGNL would parse it to
+     *
+     * @return the index value or null if it isn't a supported literal
+     */
+    private static Object parseIndex(String expression, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return null;
+        }
+        char first = expression.charAt(start);
+        if (first >= '0' && first <= '9') {
+            // leading zeros mean octal numbers in OGNL, longer numbers may not fit into an Integer
+            if (length > 9 || (first == '0' && length > 1)) {
+                return null;
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                char ch = expression.charAt(i);
+                if (ch < '0' || ch > '9') {
+                    return null;
+                }
+                value = value * 10 + (ch - '0');
+            }
+            return value;
+        }
+        if ((first == '\'' || first == '"') && length > 2 && expression.charAt(end - 1) == first) {
+            for (int i = start + 1; i < end - 1; i++) {
+                char ch = expression.charAt(i);
+                if (ch == first || ch == '\\') {
+                    return null;
+                }
+            }
+            if (first == '\'' && length == 3) {
+                // a single character in single quotes is a char literal in OGNL
+                return expression.charAt(start + 1);
+            }
+            return expression.substring(start + 1, end - 1);
+        }
+        return null;
+    }
+
+    String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Puts the indexes into the context
+     *
+     * @return value previously held by the context under the same name, to be restored by {@link #unbind(Map, Object)}
+     */
+    Object bind(Map<String, Object> context) {
+        return context.put(INDEXES_VARIABLE, indexes);
+    }
+
+    void unbind(Map<String, Object> context, Object previous) {
+        if (previous != null) {
+            context.put(INDEXES_VARIABLE, previous);
+        } else {
+            context.remove(INDEXES_VARIABLE);
+        }
+    }
+
+}
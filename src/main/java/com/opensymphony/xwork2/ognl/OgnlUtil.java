@@ -21,11 +21,14 @@ import com.opensymphony.xwork2.conversion.impl.XWorkConverter;
 import com.opensymphony.xwork2.inject.Container;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.ognl.accessor.CompoundRootAccessor;
+import com.opensymphony.xwork2.util.BoundedConcurrentCache;
+import com.opensymphony.xwork2.util.CacheStatistics;
 import com.opensymphony.xwork2.util.CompoundRoot;
 import com.opensymphony.xwork2.util.TextParseUtil;
 import com.opensymphony.xwork2.util.reflection.ReflectionException;
 import ognl.*;
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -49,13 +52,16 @@ import java.util.regex.Pattern;
 public class OgnlUtil {
 
     private static final Logger LOG = LogManager.getLogger(OgnlUtil.class);
-    private ConcurrentMap<String, Object> expressions = new ConcurrentHashMap<>();
+    private static final int DEFAULT_EXPRESSION_CACHE_MAX_SIZE = 10000;
+
+    private BoundedConcurrentCache<String, TieredExpression> expressions = new BoundedConcurrentCache<>(DEFAULT_EXPRESSION_CACHE_MAX_SIZE);
     private final ConcurrentMap<Class, BeanInfo> beanInfoCache = new ConcurrentHashMap<>();
     private TypeConverter defaultConverter;
 
     private boolean devMode = false;
     private boolean enableExpressionCache = true;
     private boolean enableEvalExpression;
+    private int expressionCompilationThreshold;
 
     private Set<Class<?>> excludedClasses = new HashSet<>();
     private Set<Pattern> excludedPackageNamePatterns = new HashSet<>();
@@ -79,6 +85,21 @@ public class OgnlUtil {
         enableExpressionCache = BooleanUtils.toBoolean(cache);
     }
 
+    @Inject(value = XWorkConstants.OGNL_EXPRESSION_CACHE_MAX_SIZE, required = false)
+    public void setExpressionCacheMaxSize(String maxSize) {
+        int size = NumberUtils.toInt(maxSize, DEFAULT_EXPRESSION_CACHE_MAX_SIZE);
+        expressions = new BoundedConcurrentCache<>(size > 0 ? size : DEFAULT_EXPRESSION_CACHE_MAX_SIZE);
+    }
+
+    /**
+     * Statistics of the parsed expressions cache, they can be registered as a JMX MBean
+     *
+     * @return hits, misses, evictions and size of the cache
+     */
+    public CacheStatistics getExpressionCacheStatistics() {
+        return new CacheStatistics(expressions);
+    }
+
     @Inject(value = XWorkConstants.ENABLE_OGNL_EVAL_EXPRESSION, required = false)
     public void setEnableEvalExpression(String evalExpression) {
         enableEvalExpression = "true".equals(evalExpression);
@@ -88,6 +109,16 @@ public class OgnlUtil {
         }
     }
 
+    @Inject(value = XWorkConstants.ENABLE_OGNL_LOCK_FREE_INVOCATION, required = false)
+    public void setEnableLockFreeInvocation(String lockFreeInvocation) {
+        OgnlRuntime.setUseLockFreeInvocation(BooleanUtils.toBoolean(lockFreeInvocation));
+    }
+
+    @Inject(value = XWorkConstants.OGNL_EXPRESSION_COMPILATION_THRESHOLD, required = false)
+    public void setExpressionCompilationThreshold(String threshold) {
+        this.expressionCompilationThreshold = Math.max(0, NumberUtils.toInt(threshold, 0));
+    }
+
     @Inject(value = XWorkConstants.OGNL_EXCLUDED_CLASSES, required = false)
     public void setExcludedClasses(String commaDelimitedClasses) {
         Set<String> classes = TextParseUtil.commaDelimitedStringToSet(commaDelimitedClasses);
@@ -309,19 +340,25 @@ public class OgnlUtil {
     }
 
     public Object getValue(final String name, final Map<String, Object> context, final Object root) throws OgnlException {
-        return compileAndExecute(name, context, new OgnlTask<Object>() {
-            public Object execute(Object tree) throws OgnlException {
-                return Ognl.getValue(tree, context, root);
-            }
-        });
+        return getValue(name, context, root, null);
     }
 
     public Object getValue(final String name, final Map<String, Object> context, final Object root, final Class resultType) throws OgnlException {
-        return compileAndExecute(name, context, new OgnlTask<Object>() {
-            public Object execute(Object tree) throws OgnlException {
-                return Ognl.getValue(tree, context, root, resultType);
+        ExpressionTemplate template = findTemplate(name, context);
+        String key = template != null ? template.getTemplate() : name;
+
+        TieredExpression expression = parseExpression(key, context);
+        Object previous = template != null ? template.bind(context) : null;
+        Object value;
+        try {
+            value = expression.getValue(context, root, resultType, expressionCompilationThreshold);
+        } finally {
+            if (template != null) {
+                template.unbind(context, previous);
             }
-        });
+        }
+        cacheExpression(key, expression);
+        return value;
     }
 
 
@@ -330,32 +367,67 @@ public class OgnlUtil {
     }
 
     private <T> Object compileAndExecute(String expression, Map<String, Object> context, OgnlTask<T> task) throws OgnlException {
-        Object tree;
-        if (enableExpressionCache) {
-            tree = expressions.get(expression);
-            if (tree == null) {
-                tree = Ognl.parseExpression(expression);
-                checkEnableEvalExpression(tree, context);
+        return compileAndExecute(expression, context, task, true);
+    }
+
+    private <T> Object compileAndExecute(String expression, Map<String, Object> context, OgnlTask<T> task, boolean useTemplate) throws OgnlException {
+        ExpressionTemplate template = useTemplate ? findTemplate(expression, context) : null;
+        String key = template != null ? template.getTemplate() : expression;
+
+        TieredExpression parsed = parseExpression(key, context);
+        Object previous = template != null ? template.bind(context) : null;
+        final T exec;
+        try {
+            exec = task.execute(parsed.getTree());
+        } finally {
+            if (template != null) {
+                template.unbind(context, previous);
             }
-        } else {
-            tree = Ognl.parseExpression(expression);
+        }
+        cacheExpression(key, parsed);
+        return exec;
+    }
+
+    /**
+     * Indexed paths like <code>items[17].qty</code> are parsed and cached once per shape, the indexes are
+     * bound to the shared tree via the context, so it's done only when the cache and a context are available.
+     * The template is normalized by a single pass over the expression on each call and isn't cached itself, so only
+     * its shape takes an entry of the expression cache, not each distinct index.
+     */
+    private ExpressionTemplate findTemplate(String expression, Map<String, Object> context) {
+        if (!enableExpressionCache || context == null) {
+            return null;
+        }
+        return ExpressionTemplate.parse(expression);
+    }
+
+    private TieredExpression parseExpression(String expression, Map<String, Object> context) throws OgnlException {
+        TieredExpression parsed = null;
+        if (enableExpressionCache) {
+            parsed = expressions.get(expression);
+        }
+        if (parsed == null) {
+            Object tree = Ognl.parseExpression(expression);
             checkEnableEvalExpression(tree, context);
+            parsed = new TieredExpression(expression, tree);
         }
+        return parsed;
+    }
 
-        final T exec = task.execute(tree);
+    private void cacheExpression(String expression, TieredExpression parsed) {
         // if cache is enabled and it's a valid expression, puts it in
-        if(enableExpressionCache) {
-            expressions.putIfAbsent(expression, tree);
+        if (enableExpressionCache) {
+            expressions.putIfAbsent(expression, parsed);
         }
-        return exec;
     }
 
     public Object compile(String expression, Map<String, Object> context) throws OgnlException {
+        // the tree is evaluated by the caller, so it must not be a template expecting its indexes in the context
         return compileAndExecute(expression,context,new OgnlTask<Object>() {
             public Object execute(Object tree) throws OgnlException {
                 return tree;
             }
-        });
+        }, false);
     }
     
     private void checkEnableEvalExpression(Object tree, Map<String, Object> context) throws OgnlException {
@@ -77,6 +77,18 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
         setRoot(xworkConverter, accessor, new CompoundRoot(vs.getRoot()), allowStaticAccess);
     }
 
+    /**
+     * Creates a child stack which shares the collaborators and settings injected into the parent stack,
+     * so it doesn't have to be injected by the container again
+     */
+    protected OgnlValueStack(OgnlValueStack parent, XWorkConverter xworkConverter, CompoundRootAccessor accessor, boolean allowStaticAccess) {
+        this((ValueStack) parent, xworkConverter, accessor, allowStaticAccess);
+        setOgnlUtil(parent.ognlUtil);
+        this.converter = parent.converter;
+        this.devMode = parent.devMode;
+        this.logMissingProperties = parent.logMissingProperties;
+    }
+
     @Inject
     public void setOgnlUtil(OgnlUtil ognlUtil) {
         this.ognlUtil = ognlUtil;
@@ -455,6 +467,13 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
     }
 
 
+    /**
+     * @return true if all the collaborators were injected, so child stacks can share them
+     */
+    boolean isInjected() {
+        return ognlUtil != null && converter != null;
+    }
+
     public void clearContextValues() {
         //this is an OGNL ValueStack so the context will be an OgnlContext
         //it would be better to make context of type OgnlContext
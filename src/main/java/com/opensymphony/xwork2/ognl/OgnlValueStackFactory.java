@@ -67,8 +67,13 @@ public class OgnlValueStackFactory implements ValueStackFactory {
     }
 
     public ValueStack createValueStack(ValueStack stack) {
-        ValueStack result = new OgnlValueStack(stack, xworkConverter, compoundRootAccessor, allowStaticMethodAccess);
-        container.inject(result);
+        ValueStack result;
+        if (stack instanceof OgnlValueStack && ((OgnlValueStack) stack).isInjected()) {
+            result = new OgnlValueStack((OgnlValueStack) stack, xworkConverter, compoundRootAccessor, allowStaticMethodAccess);
+        } else {
+            result = new OgnlValueStack(stack, xworkConverter, compoundRootAccessor, allowStaticMethodAccess);
+            container.inject(result);
+        }
         stack.getContext().put(ActionContext.CONTAINER, container);
         return result;
     }
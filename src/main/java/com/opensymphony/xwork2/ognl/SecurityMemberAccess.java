@@ -57,8 +57,18 @@ public class SecurityMemberAccess extends DefaultMemberAccess {
             LOG.trace("Allowing access to enum: {}", target);
             return true;
         }
+        return checkAccess(context, target, target.getClass(), member, propertyName);
+    }
+
+    /**
+     * Checks the access to a member of an instance of the given class, for callers which know the class of the
+     * target but not the target itself, as compiled expressions do for the objects in the middle of a chain
+     */
+    boolean isAccessibleOnInstanceOf(Map context, Class targetClass, Member member, String propertyName) {
+        return checkAccess(context, targetClass, targetClass, member, propertyName);
+    }
 
-        Class targetClass = target.getClass();
+    private boolean checkAccess(Map context, Object target, Class targetClass, Member member, String propertyName) {
         Class memberClass = member.getDeclaringClass();
 
         if (Modifier.isStatic(member.getModifiers()) && allowStaticMethodAccess) {
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl;
+
+import com.opensymphony.xwork2.util.CompoundRoot;
+import ognl.ASTChain;
+import ognl.ASTConst;
+import ognl.ASTProperty;
+import ognl.MemberAccess;
+import ognl.Node;
+import ognl.Ognl;
+import ognl.OgnlContext;
+import ognl.OgnlException;
+import ognl.OgnlRuntime;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.beans.IntrospectionException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Parsed OGNL expression which is interpreted until it gets hot and is then compiled to bytecode
+ * by the {@link ognl.enhance.ExpressionCompiler}.
+ * </p>
+ *
+ * <p>
+ * Only chains of properties read by getters, like <code>user.address.city</code>, are compiled. Against a plain
+ * root the chain is compiled for the root itself, against a {@link CompoundRoot} it is compiled for the object
+ * on the stack which provides the first property, the same object the {@link com.opensymphony.xwork2.ognl.accessor.CompoundRootAccessor}
+ * would read it from. The compiled expression is used as long as that object has the same class as during
+ * the compilation.
+ * </p>
+ *
+ * <p>
+ * The compiled code calls the getters directly, so the member access of the context is checked for each getter
+ * before every compiled evaluation, and the expression is interpreted if any of them isn't accessible. To know
+ * the class of each object in the chain without evaluating it, only chains whose getters in the middle return
+ * final classes are compiled, and chains of more than one property only for a {@link SecurityMemberAccess}.
+ * </p>
+ *
+ * <p>
+ * Once a compiled evaluation fails the expression is interpreted from then on. A failure of the generated
+ * code itself, like a <code>null</code> in the middle of the chain, is evaluated once more by the interpreter,
+ * an exception thrown by a getter is reported as an {@link OgnlException} without calling the getters again.
+ * </p>
+ */
+class TieredExpression {
+
+    private static final Logger LOG = LogManager.getLogger(TieredExpression.class);
+
+    private static final int INTERPRETED = 0;
+    private static final int COMPILING = 1;
+    private static final int COMPILED = 2;
+    private static final int NOT_COMPILABLE = 3;
+
+    private final String expression;
+    private final Object tree;
+    private final String[] propertyNames;
+
+    private final AtomicInteger state;
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private volatile Class<?> rootClass;
+    private volatile CompiledChain compiledChain;
+
+    TieredExpression(String expression, Object tree) {
+        this.expression = expression;
+        this.tree = tree;
+        this.propertyNames = findPropertyNames(tree);
+        this.state = new AtomicInteger(propertyNames != null ? INTERPRETED : NOT_COMPILABLE);
+    }
+
+    Object getTree() {
+        return tree;
+    }
+
+    /**
+     * Evaluates the expression, counts the evaluation and compiles the expression once it
+     * was evaluated <code>compilationThreshold</code> times against the same root class
+     *
+     * @param compilationThreshold number of evaluations before compilation, 0 to always interpret the expression
+     */
+    Object getValue(Map<String, Object> context, Object root, Class resultType, int compilationThreshold) throws OgnlException {
+        if (compilationThreshold > 0 && state.get() != NOT_COMPILABLE && context instanceof OgnlContext) {
+            OgnlContext ognlContext = (OgnlContext) context;
+            Object target = findTarget(ognlContext, root);
+            CompiledChain compiled = selectCompiledChain(ognlContext, target, compilationThreshold);
+            if (compiled != null && compiled.isAccessible(ognlContext, target, propertyNames)) {
+                Object result;
+                try {
+                    ognlContext.setRoot(root);
+                    result = compiled.tree.getAccessor().get(ognlContext, target);
+                } catch (Exception e) {
+                    state.set(NOT_COMPILABLE);
+                    compiledChain = null;
+                    if (!isRaisedByCompiledCode(compiled.tree, e)) {
+                        throw new OgnlException("Compiled expression [" + expression + "] failed", e);
+                    }
+                    LOG.debug("Compiled expression [{}] failed, it will be interpreted", expression, e);
+                    return Ognl.getValue(tree, context, root, resultType);
+                }
+                if (resultType != null) {
+                    result = Ognl.getTypeConverter(context).convertValue(context, root, null, null, result, resultType);
+                }
+                return result;
+            }
+        }
+        return Ognl.getValue(tree, context, root, resultType);
+    }
+
+    /**
+     * Resolves the object the chain is evaluated against, for a {@link CompoundRoot} that's the first object
+     * on the stack which has the first property, or <code>null</code> if there's none
+     */
+    private Object findTarget(OgnlContext context, Object root) {
+        if (!(root instanceof CompoundRoot)) {
+            return root;
+        }
+        String firstProperty = propertyNames[0];
+        if ("top".equals(firstProperty)) {
+            return null;
+        }
+        for (Object o : (CompoundRoot) root) {
+            if (o == null) {
+                continue;
+            }
+            try {
+                if (OgnlRuntime.hasGetProperty(context, o, firstProperty) || ((o instanceof Map) && ((Map) o).containsKey(firstProperty))) {
+                    return o;
+                }
+            } catch (IntrospectionException e) {
+                // the accessor keeps on trying the next object too
+            } catch (OgnlException e) {
+                // leave it to the interpreter
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private CompiledChain selectCompiledChain(OgnlContext context, Object target, int compilationThreshold) {
+        if (target == null) {
+            return null;
+        }
+
+        int currentState = state.get();
+        if (currentState == COMPILED) {
+            CompiledChain compiled = compiledChain;
+            return compiled != null && target.getClass() == compiled.rootClass ? compiled : null;
+        }
+        if (currentState != INTERPRETED) {
+            return null;
+        }
+
+        if (rootClass != target.getClass()) {
+            // only expressions evaluated against a stable root type are worth to compile
+            rootClass = target.getClass();
+            evaluations.set(0);
+        }
+        if (evaluations.incrementAndGet() >= compilationThreshold && state.compareAndSet(INTERPRETED, COMPILING)) {
+            compile(context, target);
+            if (state.get() == COMPILED) {
+                return compiledChain;
+            }
+        }
+        return null;
+    }
+
+    private void compile(OgnlContext context, Object target) {
+        try {
+            Class[] targetClasses = new Class[propertyNames.length];
+            Method[] getters = new Method[propertyNames.length];
+            if (!resolveGetters(context, target.getClass(), targetClasses, getters)) {
+                LOG.debug("Expression [{}] doesn't read final classes by getters only, it will be interpreted", expression);
+                state.set(NOT_COMPILABLE);
+                return;
+            }
+            // compiles in a separate context so the compilation doesn't leave any state in the caller's one
+            OgnlContext compilationContext = (OgnlContext) Ognl.createDefaultContext(target, context.getClassResolver(),
+                    context.getTypeConverter(), context.getMemberAccess());
+            Node compiled = Ognl.compileExpression(compilationContext, target, expression);
+            if (compiled.getAccessor() == null) {
+                state.set(NOT_COMPILABLE);
+                return;
+            }
+            compiledChain = new CompiledChain(compiled, targetClasses, getters);
+            state.set(COMPILED);
+            LOG.debug("Expression [{}] compiled for root {}", expression, target.getClass());
+        } catch (Exception | LinkageError e) {
+            LOG.debug("Expression [{}] cannot be compiled, it will be interpreted", expression, e);
+            state.set(NOT_COMPILABLE);
+        }
+    }
+
+    /**
+     * Finds the getter of each property and the class it's called on. The classes of the objects in the middle
+     * of the chain are only known if the getters return final classes, so the member access can be checked
+     * without evaluating the chain.
+     *
+     * @return false if a property isn't read by a getter or a getter in the middle doesn't return a final class
+     */
+    private boolean resolveGetters(OgnlContext context, Class rootClass, Class[] targetClasses, Method[] getters)
+            throws IntrospectionException, OgnlException {
+        Class targetClass = rootClass;
+        for (int i = 0; i < propertyNames.length; i++) {
+            Method getter = OgnlRuntime.getGetMethod(context, targetClass, propertyNames[i]);
+            if (getter == null) {
+                return false;
+            }
+            targetClasses[i] = targetClass;
+            getters[i] = getter;
+            targetClass = getter.getReturnType();
+            boolean last = i == propertyNames.length - 1;
+            if (!last && (targetClass.isPrimitive() || targetClass.isArray() || targetClass == Class.class
+                    || !Modifier.isFinal(targetClass.getModifiers()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A <code>NullPointerException</code> or <code>ClassCastException</code> raised by the generated accessor
+     * itself means the values didn't fit the compiled chain, everything else was thrown by the called getters
+     */
+    private static boolean isRaisedByCompiledCode(Node compiled, Exception e) {
+        if (!(e instanceof NullPointerException || e instanceof ClassCastException)) {
+            return false;
+        }
+        StackTraceElement[] stackTrace = e.getStackTrace();
+        return stackTrace.length > 0 && stackTrace[0].getClassName().equals(compiled.getAccessor().getClass().getName());
+    }
+
+    /**
+     * Method calls, indexes and other constructs are never compiled as their compiled form would
+     * skip checks done by the interpreter on each evaluation, for those <code>null</code> is returned
+     */
+    private static String[] findPropertyNames(Object tree) {
+        try {
+            if (tree instanceof ASTChain) {
+                ASTChain chain = (ASTChain) tree;
+                int length = chain.jjtGetNumChildren();
+                String[] names = new String[length];
+                for (int i = 0; i < length; i++) {
+                    names[i] = getSimplePropertyName(chain.jjtGetChild(i));
+                    if (names[i] == null) {
+                        return null;
+                    }
+                }
+                return length > 0 ? names : null;
+            }
+            String name = getSimplePropertyName(tree);
+            return name != null ? new String[]{name} : null;
+        } catch (OgnlException e) {
+            return null;
+        }
+    }
+
+    private static String getSimplePropertyName(Object node) throws OgnlException {
+        if (!(node instanceof ASTProperty)) {
+            return null;
+        }
+        ASTProperty property = (ASTProperty) node;
+        if (property.isIndexedAccess() || !property.isNodeSimpleProperty(null)) {
+            return null;
+        }
+        Object name = property.jjtGetChild(0);
+        if (name instanceof ASTConst && ((ASTConst) name).getValue() instanceof String) {
+            return (String) ((ASTConst) name).getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Compiled tree together with the getters it calls and the classes it calls them on
+     */
+    private static final class CompiledChain {
+        private final Node tree;
+        private final Class<?> rootClass;
+        private final Class[] targetClasses;
+        private final Method[] getters;
+
+        CompiledChain(Node tree, Class[] targetClasses, Method[] getters) {
+            this.tree = tree;
+            this.rootClass = targetClasses[0];
+            this.targetClasses = targetClasses;
+            this.getters = getters;
+        }
+
+        /**
+         * Checks the member access of the context for each getter, as the interpreter would do it
+         */
+        boolean isAccessible(OgnlContext context, Object target, String[] propertyNames) {
+            MemberAccess memberAccess = context.getMemberAccess();
+            if (memberAccess == null || !memberAccess.isAccessible(context, target, getters[0], propertyNames[0])) {
+                return false;
+            }
+            if (getters.length == 1) {
+                return true;
+            }
+            if (memberAccess.getClass() != SecurityMemberAccess.class) {
+                // other member access implementations may need the target itself
+                return false;
+            }
+            SecurityMemberAccess securityMemberAccess = (SecurityMemberAccess) memberAccess;
+            for (int i = 1; i < getters.length; i++) {
+                if (!securityMemberAccess.isAccessibleOnInstanceOf(context, targetClasses[i], getters[i], propertyNames[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
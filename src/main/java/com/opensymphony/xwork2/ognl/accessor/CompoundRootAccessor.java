@@ -19,6 +19,7 @@ import com.opensymphony.xwork2.XWorkConstants;
 import com.opensymphony.xwork2.XWorkException;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.ognl.OgnlValueStack;
+import com.opensymphony.xwork2.util.BoundedConcurrentCache;
 import com.opensymphony.xwork2.util.CompoundRoot;
 import com.opensymphony.xwork2.util.ValueStack;
 import ognl.*;
@@ -30,6 +31,7 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang3.BooleanUtils.toBoolean;
@@ -59,7 +61,13 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
 
     private final static Logger LOG = LogManager.getLogger(CompoundRootAccessor.class);
     private final static Class[] EMPTY_CLASS_ARRAY = new Class[0];
+    private final static int PROPERTY_CANDIDATES_MAX_SIZE = 10000;
     private static Map<MethodCall, Boolean> invalidMethods = new ConcurrentHashMap<>();
+    /**
+     * Whether the objects of a class can provide a property, by property name and class. Bounded by the names,
+     * as those can come from request input.
+     */
+    private final BoundedConcurrentCache<String, ConcurrentMap<Class, Boolean>> propertyCandidates = new BoundedConcurrentCache<>(PROPERTY_CANDIDATES_MAX_SIZE);
     private boolean devMode = false;
 
     @Inject(XWorkConstants.DEV_MODE)
@@ -132,7 +140,7 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
             }
 
             for (Object o : root) {
-                if (o == null) {
+                if (o == null || !isCandidate(ognlContext, o, (String) name)) {
                     continue;
                 }
 
@@ -160,6 +168,37 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
         }
     }
 
+    /**
+     * Whether the object can provide the property at all: maps and objects with a getter or a field of that name.
+     * It only depends on the class, so it's cached, whether the getter or the field is accessible is still checked
+     * on each lookup, as it depends on the member access of the stack.
+     */
+    private boolean isCandidate(OgnlContext context, Object o, String name) {
+        if (o instanceof Map) {
+            return true;
+        }
+        ConcurrentMap<Class, Boolean> classes = propertyCandidates.get(name);
+        if (classes == null) {
+            classes = new ConcurrentHashMap<>();
+            ConcurrentMap<Class, Boolean> present = propertyCandidates.putIfAbsent(name, classes);
+            if (present != null) {
+                classes = present;
+            }
+        }
+        Class clazz = o.getClass();
+        Boolean candidate = classes.get(clazz);
+        if (candidate == null) {
+            try {
+                candidate = OgnlRuntime.getGetMethod(context, clazz, name) != null || OgnlRuntime.getField(clazz, name) != null;
+            } catch (IntrospectionException | OgnlException e) {
+                // let the lookup itself deal with it
+                candidate = Boolean.TRUE;
+            }
+            classes.putIfAbsent(clazz, candidate);
+        }
+        return candidate;
+    }
+
     public Object callMethod(Map context, Object target, String name, Object[] objects) throws MethodFailedException {
         CompoundRoot root = (CompoundRoot) target;
 
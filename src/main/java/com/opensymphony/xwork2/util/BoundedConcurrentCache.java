@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Concurrent cache holding at most around <code>maximumSize</code> entries. Reads never block, each entry
+ * counts how often it was used. When the cache grows over its maximum size, one of the writing threads evicts
+ * the least frequently used entries and ages the counters of the remaining ones, so entries which used to be hot
+ * but aren't used anymore eventually get evicted as well.
+ * </p>
+ *
+ * <p>
+ * The size can temporarily exceed the maximum while the eviction is in progress.
+ * </p>
+ *
+ * <p>
+ * The cache counts hits, misses and evicted entries, see {@link CacheStatistics} to expose them via JMX. Hits and
+ * misses are counted in {@link StripedCounter}s, so concurrent lookups don't contend on shared counters.
+ * </p>
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public class BoundedConcurrentCache<K, V> implements Serializable {
+
+    /**
+     * Part of the maximum size freed by a single eviction run, so the eviction doesn't run on each put
+     */
+    private static final int EVICTION_DIVISOR = 10;
+
+    private final ConcurrentMap<K, Entry<V>> entries;
+    private final int maximumSize;
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    private final StripedCounter hitCount = new StripedCounter();
+    private final StripedCounter missCount = new StripedCounter();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public BoundedConcurrentCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+    }
+
+    /**
+     * @param key the key
+     * @return the cached value or null if there is no such key in the cache
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        entry.hit();
+        return entry.value;
+    }
+
+    /**
+     * Puts the value into the cache unless there is already a value for the key
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the value cached before or null if the given value was put into the cache
+     */
+    public V putIfAbsent(K key, V value) {
+        Entry<V> previous = entries.putIfAbsent(key, new Entry<>(value));
+        if (previous != null) {
+            previous.hit();
+            return previous.value;
+        }
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return null;
+    }
+
+    public V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return number of lookups which found a value
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return number of lookups which didn't find a value
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return number of entries removed because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Removes the least frequently used entries to get the size below the maximum and halves frequencies
+     * of the entries left. Only one thread evicts at a time, the others just continue.
+     */
+    protected int evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int size = entries.size();
+            int toEvict = size - maximumSize + Math.max(1, maximumSize / EVICTION_DIVISOR);
+            if (toEvict <= 0) {
+                return 0;
+            }
+
+            int[] frequencies = new int[size];
+            int count = 0;
+            for (Entry<V> entry : entries.values()) {
+                if (count == frequencies.length) {
+                    break;
+                }
+                frequencies[count++] = entry.frequency;
+            }
+            if (count == 0) {
+                // emptied by a concurrent clear or remove
+                return 0;
+            }
+            Arrays.sort(frequencies, 0, count);
+            int threshold = frequencies[Math.min(toEvict, count) - 1];
+
+            int evicted = 0;
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<V> entry = iterator.next().getValue();
+                if (evicted < toEvict && entry.frequency <= threshold) {
+                    iterator.remove();
+                    evicted++;
+                } else {
+                    entry.frequency = entry.frequency >>> 1;
+                }
+            }
+            evictionCount.addAndGet(evicted);
+            onEviction(evicted);
+            return evicted;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Called after an eviction run
+     *
+     * @param evicted number of entries removed from the cache
+     */
+    protected void onEviction(int evicted) {
+    }
+
+    private static final class Entry<V> implements Serializable {
+        private final V value;
+        // racy increments are fine, the frequency is just a hint for the eviction
+        private volatile int frequency = 1;
+
+        Entry(V value) {
+            this.value = value;
+        }
+
+        void hit() {
+            int current = frequency;
+            if (current < Integer.MAX_VALUE) {
+                frequency = current + 1;
+            }
+        }
+    }
+
+}
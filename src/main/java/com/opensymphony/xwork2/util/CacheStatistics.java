@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+/**
+ * Exposes statistics of a {@link BoundedConcurrentCache}, e.g.
+ * <pre>
+ *     ManagementFactory.getPlatformMBeanServer().registerMBean(ognlUtil.getExpressionCacheStatistics(),
+ *         new ObjectName("org.apache.struts2:type=OgnlExpressionCache"));
+ * </pre>
+ */
+public class CacheStatistics implements CacheStatisticsMBean {
+
+    private final BoundedConcurrentCache<?, ?> cache;
+
+    public CacheStatistics(BoundedConcurrentCache<?, ?> cache) {
+        this.cache = cache;
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{size=" + getSize() + ", maximumSize=" + getMaximumSize() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+
+}
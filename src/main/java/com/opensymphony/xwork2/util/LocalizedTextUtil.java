@@ -34,7 +34,6 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.text.MessageFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -96,9 +95,11 @@ public class LocalizedTextUtil {
     private static boolean devMode;
 
     private static final ConcurrentMap<String, ResourceBundle> bundlesMap = new ConcurrentHashMap<>();
-    private static final ConcurrentMap<MessageFormatKey, MessageFormat> messageFormats = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<MessageFormatKey, MessageTemplate> messageTemplates = new ConcurrentHashMap<>();
     private static final ConcurrentMap<Integer, ClassLoader> delegatedClassLoaderMap = new ConcurrentHashMap<>();
     private static final Set<String> missingBundles = Collections.synchronizedSet(new HashSet<String>());
+    private static final BoundedConcurrentCache<ResolvedMessageKey, ResolvedMessage> resolvedMessages = new BoundedConcurrentCache<>(10000);
+    private static final ResolvedMessage MISSING_MESSAGE = new ResolvedMessage(null);
 
     private static final String RELOADED = "com.opensymphony.xwork2.util.LocalizedTextUtil.reloaded";
     private static final String XWORK_MESSAGES_BUNDLE = "com/opensymphony/xwork2/xwork-messages";
@@ -245,7 +246,7 @@ public class LocalizedTextUtil {
     public static String findDefaultText(String aTextName, Locale locale, Object[] params) {
         String defaultText = findDefaultText(aTextName, locale);
         if (defaultText != null) {
-            MessageFormat mf = buildMessageFormat(defaultText, locale);
+            MessageTemplate mf = buildMessageTemplate(defaultText, locale);
             return formatWithNullDetection(mf, params);
         }
         return null;
@@ -305,6 +306,7 @@ public class LocalizedTextUtil {
         synchronized (bundlesMap) {
             delegatedClassLoaderMap.put(getCurrentThreadContextClassLoader().hashCode(), classLoader);
         }
+        resolvedMessages.clear();
     }
 
     /**
@@ -312,6 +314,7 @@ public class LocalizedTextUtil {
      */
     public static void clearBundle(final String bundleName) {
         bundlesMap.remove(getCurrentThreadContextClassLoader().hashCode() + bundleName);
+        resolvedMessages.clear();
     }
 
 
@@ -467,7 +470,7 @@ public class LocalizedTextUtil {
         }
 
         // search up class hierarchy
-        String msg = findMessage(aClass, aTextName, indexedTextName, locale, args, null, valueStack);
+        String msg = findResolvedMessage(aClass, aTextName, indexedTextName, locale, args, valueStack, false);
 
         if (msg != null) {
             return msg;
@@ -484,7 +487,7 @@ public class LocalizedTextUtil {
                 if (action instanceof ModelDriven) {
                     Object model = ((ModelDriven) action).getModel();
                     if (model != null) {
-                        msg = findMessage(model.getClass(), aTextName, indexedTextName, locale, args, null, valueStack);
+                        msg = findResolvedMessage(model.getClass(), aTextName, indexedTextName, locale, args, valueStack, false);
                         if (msg != null) {
                             return msg;
                         }
@@ -494,28 +497,10 @@ public class LocalizedTextUtil {
         }
 
         // nothing still? alright, search the package hierarchy now
-        for (Class clazz = aClass;
-             (clazz != null) && !clazz.equals(Object.class);
-             clazz = clazz.getSuperclass()) {
+        msg = findResolvedMessage(aClass, aTextName, indexedTextName, locale, args, valueStack, true);
 
-            String basePackageName = clazz.getName();
-            while (basePackageName.lastIndexOf('.') != -1) {
-                basePackageName = basePackageName.substring(0, basePackageName.lastIndexOf('.'));
-                String packageName = basePackageName + ".package";
-                msg = getMessage(packageName, locale, aTextName, valueStack, args);
-
-                if (msg != null) {
-                    return msg;
-                }
-
-                if (indexedTextName != null) {
-                    msg = getMessage(packageName, locale, indexedTextName, valueStack, args);
-
-                    if (msg != null) {
-                        return msg;
-                    }
-                }
-            }
+        if (msg != null) {
+            return msg;
         }
 
         // see if it's a child property
@@ -690,7 +675,7 @@ public class LocalizedTextUtil {
             reloadBundles(valueStack.getContext());
 
             String message = TextParseUtil.translateVariables(bundle.getString(aTextName), valueStack);
-            MessageFormat mf = buildMessageFormat(message, locale);
+            MessageTemplate mf = buildMessageTemplate(message, locale);
 
             return formatWithNullDetection(mf, args);
         } catch (MissingResourceException ex) {
@@ -726,7 +711,7 @@ public class LocalizedTextUtil {
 
             // defaultMessage may be null
             if (message != null) {
-                MessageFormat mf = buildMessageFormat(TextParseUtil.translateVariables(message, valueStack), locale);
+                MessageTemplate mf = buildMessageTemplate(TextParseUtil.translateVariables(message, valueStack), locale);
 
                 String msg = formatWithNullDetection(mf, args);
                 result = new GetDefaultMessageReturnArg(msg, found);
@@ -750,7 +735,7 @@ public class LocalizedTextUtil {
         	String message = bundle.getString(key);
         	if (valueStack != null) 
         		message = TextParseUtil.translateVariables(bundle.getString(key), valueStack);
-            MessageFormat mf = buildMessageFormat(message, locale);
+            MessageTemplate mf = buildMessageTemplate(message, locale);
             return formatWithNullDetection(mf, args);
         } catch (MissingResourceException e) {
             if (devMode) {
@@ -762,7 +747,7 @@ public class LocalizedTextUtil {
         }
     }
 
-    private static String formatWithNullDetection(MessageFormat mf, Object[] args) {
+    private static String formatWithNullDetection(MessageTemplate mf, Object[] args) {
         String message = mf.format(args);
         if ("null".equals(message)) {
             return null;
@@ -771,19 +756,169 @@ public class LocalizedTextUtil {
         }
     }
 
-    private static MessageFormat buildMessageFormat(String pattern, Locale locale) {
+    /**
+     * Returns a parsed template of the pattern, templates are immutable so they can be shared between threads
+     */
+    private static MessageTemplate buildMessageTemplate(String pattern, Locale locale) {
         MessageFormatKey key = new MessageFormatKey(pattern, locale);
-        MessageFormat format = messageFormats.get(key);
+        MessageTemplate format = messageTemplates.get(key);
         if (format == null) {
-            format = new MessageFormat(pattern);
-            format.setLocale(locale);
-            format.applyPattern(pattern);
-            messageFormats.put(key, format);
+            format = MessageTemplate.parse(pattern, locale);
+            messageTemplates.put(key, format);
         }
 
         return format;
     }
 
+    /**
+     * Looks for the message in the class hierarchy or in the package hierarchy of the given class. The bundle
+     * the message was found in (or that it wasn't found at all) is cached, so following lookups of the same key
+     * skip the walk and only interpolate and format the message.
+     *
+     * @return the message
+     */
+    private static String findResolvedMessage(Class clazz, String key, String indexedKey, Locale locale, Object[] args,
+                                              ValueStack valueStack, boolean packageHierarchy) {
+        if (valueStack != null) {
+            // clears the cache as well if bundles are being reloaded
+            reloadBundles(valueStack.getContext());
+        }
+
+        ResolvedMessageKey cacheKey = new ResolvedMessageKey(getCurrentThreadContextClassLoader().hashCode(), clazz, key, locale, packageHierarchy);
+        ResolvedMessage resolved = resolvedMessages.get(cacheKey);
+        if (resolved == null) {
+            resolved = packageHierarchy ? resolvePackageMessage(clazz, key, indexedKey, locale) : resolveClassMessage(clazz, key, indexedKey, locale);
+            if (resolved == null) {
+                resolved = MISSING_MESSAGE;
+            }
+            resolvedMessages.putIfAbsent(cacheKey, resolved);
+        }
+        if (resolved == MISSING_MESSAGE) {
+            return null;
+        }
+
+        String message = resolved.message;
+        if (valueStack != null) {
+            message = TextParseUtil.translateVariables(message, valueStack);
+        }
+        String msg = formatWithNullDetection(buildMessageTemplate(message, locale), args);
+        if (msg == null) {
+            // the message formatted to nothing, continue the search the same way as without the cache
+            return packageHierarchy ? findPackageMessage(clazz, key, indexedKey, locale, args, valueStack) : findMessage(clazz, key, indexedKey, locale, args, null, valueStack);
+        }
+        return msg;
+    }
+
+    /**
+     * Finds the message in the same bundles and order as {@link #findMessage(Class, String, String, Locale, Object[], Set, ValueStack)}
+     * without formatting it.
+     *
+     * @return the resolved message or null if none of the bundles contains the key
+     */
+    private static ResolvedMessage resolveClassMessage(Class clazz, String key, String indexedKey, Locale locale) {
+        ResolvedMessage resolved = resolveMessage(clazz.getName(), locale, key, indexedKey);
+        if (resolved != null) {
+            return resolved;
+        }
+
+        for (Class anInterface : clazz.getInterfaces()) {
+            resolved = resolveMessage(anInterface.getName(), locale, key, indexedKey);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+
+        if (clazz.isInterface()) {
+            for (Class anInterface : clazz.getInterfaces()) {
+                resolved = resolveClassMessage(anInterface, key, indexedKey, locale);
+                if (resolved != null) {
+                    return resolved;
+                }
+            }
+        } else if (!clazz.equals(Object.class) && !clazz.isPrimitive()) {
+            return resolveClassMessage(clazz.getSuperclass(), key, indexedKey, locale);
+        }
+        return null;
+    }
+
+    /**
+     * Finds the message in the same bundles and order as {@link #findPackageMessage(Class, String, String, Locale, Object[], ValueStack)}
+     * without formatting it.
+     *
+     * @return the resolved message or null if none of the bundles contains the key
+     */
+    private static ResolvedMessage resolvePackageMessage(Class aClass, String key, String indexedKey, Locale locale) {
+        for (Class clazz = aClass; (clazz != null) && !clazz.equals(Object.class); clazz = clazz.getSuperclass()) {
+            String basePackageName = clazz.getName();
+            while (basePackageName.lastIndexOf('.') != -1) {
+                basePackageName = basePackageName.substring(0, basePackageName.lastIndexOf('.'));
+                ResolvedMessage resolved = resolveMessage(basePackageName + ".package", locale, key, indexedKey);
+                if (resolved != null) {
+                    return resolved;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ResolvedMessage resolveMessage(String bundleName, Locale locale, String key, String indexedKey) {
+        ResourceBundle bundle = findResourceBundle(bundleName, locale);
+        if (bundle == null) {
+            return null;
+        }
+        String message = getBundleString(bundle, bundleName, key);
+        if (message == null && indexedKey != null) {
+            message = getBundleString(bundle, bundleName, indexedKey);
+        }
+        return message != null ? new ResolvedMessage(message) : null;
+    }
+
+    private static String getBundleString(ResourceBundle bundle, String bundleName, String key) {
+        try {
+            return bundle.getString(key);
+        } catch (MissingResourceException e) {
+            if (devMode) {
+                LOG.warn("Missing key [{}] in bundle [{}]!", key, bundleName);
+            } else {
+                LOG.debug("Missing key [{}] in bundle [{}]!", key, bundleName);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Traverse up package hierarchy looking for message.
+     *
+     * @return the message
+     */
+    private static String findPackageMessage(Class aClass, String key, String indexedKey, Locale locale, Object[] args,
+                                             ValueStack valueStack) {
+        for (Class clazz = aClass;
+             (clazz != null) && !clazz.equals(Object.class);
+             clazz = clazz.getSuperclass()) {
+
+            String basePackageName = clazz.getName();
+            while (basePackageName.lastIndexOf('.') != -1) {
+                basePackageName = basePackageName.substring(0, basePackageName.lastIndexOf('.'));
+                String packageName = basePackageName + ".package";
+                String msg = getMessage(packageName, locale, key, valueStack, args);
+
+                if (msg != null) {
+                    return msg;
+                }
+
+                if (indexedKey != null) {
+                    msg = getMessage(packageName, locale, indexedKey, valueStack, args);
+
+                    if (msg != null) {
+                        return msg;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Traverse up class hierarchy looking for message.  Looks at class, then implemented interface,
      * before going up hierarchy.
@@ -867,6 +1002,7 @@ public class LocalizedTextUtil {
                 }
                 if (!reloaded) {
                     bundlesMap.clear();
+                    resolvedMessages.clear();
                     try {
                         clearMap(ResourceBundle.class, null, "cacheList");
                     } catch (NoSuchFieldException e) {
@@ -937,7 +1073,8 @@ public class LocalizedTextUtil {
     public static void reset() {
         clearDefaultResourceBundles();
         bundlesMap.clear();
-        messageFormats.clear();
+        messageTemplates.clear();
+        resolvedMessages.clear();
     }
 
     static class MessageFormatKey {
@@ -973,6 +1110,57 @@ public class LocalizedTextUtil {
         }
     }
 
+    static class ResolvedMessageKey {
+        final int classLoaderHash;
+        final Class clazz;
+        final String key;
+        final Locale locale;
+        final boolean packageHierarchy;
+
+        ResolvedMessageKey(int classLoaderHash, Class clazz, String key, Locale locale, boolean packageHierarchy) {
+            this.classLoaderHash = classLoaderHash;
+            this.clazz = clazz;
+            this.key = key;
+            this.locale = locale;
+            this.packageHierarchy = packageHierarchy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ResolvedMessageKey)) return false;
+
+            final ResolvedMessageKey other = (ResolvedMessageKey) o;
+
+            return classLoaderHash == other.classLoaderHash
+                    && packageHierarchy == other.packageHierarchy
+                    && clazz.equals(other.clazz)
+                    && key.equals(other.key)
+                    && (locale != null ? locale.equals(other.locale) : other.locale == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = classLoaderHash;
+            result = 29 * result + clazz.hashCode();
+            result = 29 * result + key.hashCode();
+            result = 29 * result + (locale != null ? locale.hashCode() : 0);
+            result = 29 * result + (packageHierarchy ? 1 : 0);
+            return result;
+        }
+    }
+
+    /**
+     * Message found in a bundle, not interpolated nor formatted yet
+     */
+    static class ResolvedMessage {
+        final String message;
+
+        ResolvedMessage(String message) {
+            this.message = message;
+        }
+    }
+
     private static ClassLoader getCurrentThreadContextClassLoader() {
         return Thread.currentThread().getContextClassLoader();
     }
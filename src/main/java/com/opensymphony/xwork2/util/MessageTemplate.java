@@ -0,0 +1,179 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>
+ * Immutable, pre-parsed message pattern which can be formatted by many threads at once, unlike {@link MessageFormat}.
+ * </p>
+ *
+ * <p>
+ * Patterns using only simple arguments like <code>{0}</code> are split into literal and argument segments and
+ * formatted directly, producing the same output as {@link MessageFormat}. Patterns using format types or styles,
+ * e.g. <code>{0,number,#.##}</code>, are formatted with a copy of a pre-built {@link MessageFormat}.
+ * </p>
+ */
+public final class MessageTemplate {
+
+    private final Locale locale;
+    private final String[] literals;
+    private final int[] arguments;
+    private final int length;
+    private final MessageFormat format;
+
+    private MessageTemplate(Locale locale, String[] literals, int[] arguments, int length) {
+        this.locale = locale;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.length = length;
+        this.format = null;
+    }
+
+    private MessageTemplate(Locale locale, MessageFormat format) {
+        this.locale = locale;
+        this.literals = null;
+        this.arguments = null;
+        this.length = 0;
+        this.format = format;
+    }
+
+    /**
+     * Parses the pattern using the same rules as {@link MessageFormat}
+     *
+     * @param pattern the message pattern
+     * @param locale  the locale used to format number and date arguments
+     * @return the parsed template
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static MessageTemplate parse(String pattern, Locale locale) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(pattern.length());
+        int length = 0;
+        boolean inQuote = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+            } else if (inQuote || ch != '{') {
+                literal.append(ch);
+            } else {
+                int end = pattern.indexOf('}', i + 1);
+                int argument = end != -1 ? parseArgument(pattern, i + 1, end) : -1;
+                if (argument == -1) {
+                    return createFormatTemplate(pattern, locale);
+                }
+                literals.add(literal.toString());
+                arguments.add(argument);
+                length += literal.length();
+                literal.setLength(0);
+                i = end;
+            }
+        }
+        literals.add(literal.toString());
+        length += literal.length();
+
+        int[] argumentIndexes = new int[arguments.size()];
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            argumentIndexes[i] = arguments.get(i);
+        }
+        return new MessageTemplate(locale, literals.toArray(new String[literals.size()]), argumentIndexes, length);
+    }
+
+    /**
+     * @return the argument index or -1 if it isn't a simple argument
+     */
+    private static int parseArgument(String pattern, int start, int end) {
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int argument = 0;
+        for (int i = start; i < end; i++) {
+            char ch = pattern.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            argument = argument * 10 + (ch - '0');
+        }
+        return argument;
+    }
+
+    private static MessageTemplate createFormatTemplate(String pattern, Locale locale) {
+        MessageFormat format = new MessageFormat(pattern);
+        format.setLocale(locale);
+        format.applyPattern(pattern);
+        return new MessageTemplate(locale, format);
+    }
+
+    /**
+     * Formats the message with the given arguments the same way as {@link MessageFormat#format(Object)}
+     *
+     * @param args the arguments, may be null
+     * @return the formatted message
+     */
+    public String format(Object[] args) {
+        if (format != null) {
+            return ((MessageFormat) format.clone()).format(args);
+        }
+        if (arguments.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder result = new StringBuilder(length + 16 * arguments.length);
+        for (int i = 0; i < arguments.length; i++) {
+            result.append(literals[i]);
+            appendArgument(result, arguments[i], args);
+        }
+        result.append(literals[arguments.length]);
+        return result.toString();
+    }
+
+    private void appendArgument(StringBuilder result, int argument, Object[] args) {
+        if (args == null || argument >= args.length) {
+            result.append('{').append(argument).append('}');
+            return;
+        }
+
+        Object arg = args[argument];
+        if (arg == null) {
+            result.append("null");
+        } else if (arg instanceof Number) {
+            result.append(NumberFormat.getInstance(locale).format(arg));
+        } else if (arg instanceof Date) {
+            result.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(arg));
+        } else if (arg instanceof String) {
+            result.append((String) arg);
+        } else {
+            String text = arg.toString();
+            result.append(text != null ? text : "null");
+        }
+    }
+
+}
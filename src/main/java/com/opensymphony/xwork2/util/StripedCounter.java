@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter for hot paths, similar to the LongAdder of Java 8. Each thread increments one of several cells, which
+ * sit on separate cache lines, so threads counting concurrently don't contend on a single value. Reading the
+ * count sums up the cells, so it's slower than incrementing.
+ */
+final class StripedCounter implements Serializable {
+
+    /**
+     * Longs per cell, so each cell fills its own 64 byte cache line
+     */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    StripedCounter() {
+        int size = 1;
+        while (size < Runtime.getRuntime().availableProcessors()) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.cells = new AtomicLongArray(size * PADDING);
+    }
+
+    void increment() {
+        // thread ids are assigned sequentially, so their low bits spread the threads over the cells
+        int cell = (int) Thread.currentThread().getId() & mask;
+        cells.incrementAndGet(cell * PADDING);
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int cell = 0; cell <= mask; cell++) {
+            sum += cells.get(cell * PADDING);
+        }
+        return sum;
+    }
+
+}
@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * AnnotationActionValidatorManager is the entry point into XWork's annotations-based validator framework.
@@ -44,8 +46,8 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
      */
     protected static final String VALIDATION_CONFIG_SUFFIX = "-validation.xml";
 
-    private final Map<String, List<ValidatorConfig>> validatorCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
-    private final Map<String, List<ValidatorConfig>> validatorFileCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
+    private final ConcurrentMap<String, List<PreparedValidatorConfig>> validatorCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<ValidatorConfig>> validatorFileCache = new ConcurrentHashMap<>();
     private static final Logger LOG = LogManager.getLogger(AnnotationActionValidatorManager.class);
 
     private ValidatorFactory validatorFactory;
@@ -78,31 +80,17 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
     }
 
     public List<Validator> getValidators(Class clazz, String context, String method) {
-        final String validatorKey = buildValidatorKey(clazz, context);
-        final List<ValidatorConfig> cfgs;
-
-        if (validatorCache.containsKey(validatorKey)) {
-            if (reloadingConfigs) {
-                validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, true, null));
-            }
-        } else {
-            validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, false, null));
-        }
-
         // get the set of validator configs
-        cfgs = new ArrayList<ValidatorConfig>(validatorCache.get(validatorKey));
+        final List<PreparedValidatorConfig> cfgs = getValidatorConfigs(clazz, context);
 
         ValueStack stack = ActionContext.getContext().getValueStack();
 
         // create clean instances of the validators for the caller's use
         ArrayList<Validator> validators = new ArrayList<>(cfgs.size());
-        for (ValidatorConfig cfg : cfgs) {
-            if (method == null || method.equals(cfg.getParams().get("methodName"))) {
-                Validator validator = validatorFactory.getValidator(
-                        new ValidatorConfig.Builder(cfg)
-                                .removeParam("methodName")
-                                .build());
-                validator.setValidatorType(cfg.getType());
+        for (PreparedValidatorConfig cfg : cfgs) {
+            if (method == null || method.equals(cfg.methodName)) {
+                Validator validator = validatorFactory.getValidator(cfg.validatorConfig);
+                validator.setValidatorType(cfg.validatorConfig.getType());
                 validator.setValueStack(stack);
                 validators.add(validator);
             }
@@ -111,6 +99,35 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
         return validators;
     }
 
+    /**
+     * Returns validator configs for the given class and context. They're built once and shared by all the callers,
+     * unless reloading of configs is enabled, only validator instances are created per request.
+     */
+    private List<PreparedValidatorConfig> getValidatorConfigs(Class clazz, String context) {
+        final String validatorKey = buildValidatorKey(clazz, context);
+
+        List<PreparedValidatorConfig> cfgs = validatorCache.get(validatorKey);
+        if (cfgs == null) {
+            cfgs = prepareValidatorConfigs(buildValidatorConfigs(clazz, context, false, null));
+            List<PreparedValidatorConfig> previous = validatorCache.putIfAbsent(validatorKey, cfgs);
+            if (previous != null) {
+                cfgs = previous;
+            }
+        } else if (reloadingConfigs) {
+            cfgs = prepareValidatorConfigs(buildValidatorConfigs(clazz, context, true, null));
+            validatorCache.put(validatorKey, cfgs);
+        }
+        return cfgs;
+    }
+
+    private List<PreparedValidatorConfig> prepareValidatorConfigs(List<ValidatorConfig> cfgs) {
+        List<PreparedValidatorConfig> prepared = new ArrayList<>(cfgs.size());
+        for (ValidatorConfig cfg : cfgs) {
+            prepared.add(new PreparedValidatorConfig(cfg));
+        }
+        return Collections.unmodifiableList(prepared);
+    }
+
     public void validate(Object object, String context) throws ValidationException {
         validate(object, context, (String) null);
     }
@@ -362,11 +379,15 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
     }
 
     private List<ValidatorConfig> loadFile(String fileName, Class clazz, boolean checkFile) {
-        List<ValidatorConfig> retList = Collections.emptyList();
+        List<ValidatorConfig> retList = null;
 
         URL fileUrl = ClassLoaderUtil.getResource(fileName, clazz);
 
-        if ((checkFile && fileManager.fileNeedsReloading(fileUrl)) || !validatorFileCache.containsKey(fileName)) {
+        if (!(checkFile && fileManager.fileNeedsReloading(fileUrl))) {
+            retList = validatorFileCache.get(fileName);
+        }
+        if (retList == null) {
+            retList = Collections.emptyList();
             try (InputStream is = fileManager.loadFile(fileUrl)) {
                 if (is != null) {
                     retList = new ArrayList<>(validatorFileParser.parseActionValidatorConfigs(validatorFactory, is, fileName));
@@ -376,10 +397,23 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
             }
 
             validatorFileCache.put(fileName, retList);
-        } else {
-            retList = validatorFileCache.get(fileName);
         }
 
         return retList;
     }
+
+    /**
+     * Validator config without the <code>methodName</code> param, which is only used to select the validators
+     * of the invoked method, so it doesn't have to be stripped on each request
+     */
+    private static final class PreparedValidatorConfig {
+
+        private final Object methodName;
+        private final ValidatorConfig validatorConfig;
+
+        PreparedValidatorConfig(ValidatorConfig cfg) {
+            this.methodName = cfg.getParams().get("methodName");
+            this.validatorConfig = new ValidatorConfig.Builder(cfg).removeParam("methodName").build();
+        }
+    }
 }
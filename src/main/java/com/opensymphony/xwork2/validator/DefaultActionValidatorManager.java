@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -53,8 +55,8 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
     /** The file suffix for any validation file. */
     protected static final String VALIDATION_CONFIG_SUFFIX = "-validation.xml";
 
-    private final Map<String, List<ValidatorConfig>> validatorCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
-    private final Map<String, List<ValidatorConfig>> validatorFileCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
+    private final ConcurrentMap<String, List<ValidatorConfig>> validatorCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<ValidatorConfig>> validatorFileCache = new ConcurrentHashMap<>();
     private final Logger LOG = LogManager.getLogger(DefaultActionValidatorManager.class);
     private ValidatorFactory validatorFactory;
     private ValidatorFileParser validatorFileParser;
@@ -81,25 +83,16 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
         this.reloadingConfigs = Boolean.parseBoolean(reloadingConfigs);
     }
 
-    public synchronized List<Validator> getValidators(Class clazz, String context) {
+    public List<Validator> getValidators(Class clazz, String context) {
         return getValidators(clazz, context, null);
     }
 
-    public synchronized List<Validator> getValidators(Class clazz, String context, String method) {
-        final String validatorKey = buildValidatorKey(clazz, context);
+    public List<Validator> getValidators(Class clazz, String context, String method) {
+        // get the set of validator configs
+        List<ValidatorConfig> cfgs = getValidatorConfigs(clazz, context);
 
-        if (validatorCache.containsKey(validatorKey)) {
-            if (reloadingConfigs) {
-                validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, true, null));
-            }
-        } else {
-            validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, false, null));
-        }
         ValueStack stack = ActionContext.getContext().getValueStack();
 
-        // get the set of validator configs
-        List<ValidatorConfig> cfgs = validatorCache.get(validatorKey);
-
         // create clean instances of the validators for the caller's use
         ArrayList<Validator> validators = new ArrayList<>(cfgs.size());
         for (ValidatorConfig cfg : cfgs) {
@@ -113,6 +106,27 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
         return validators;
     }
 
+    /**
+     * Returns validator configs for the given class and context. They're built once and shared by all the callers,
+     * unless reloading of configs is enabled, only validator instances are created per request.
+     */
+    private List<ValidatorConfig> getValidatorConfigs(Class clazz, String context) {
+        final String validatorKey = buildValidatorKey(clazz, context);
+
+        List<ValidatorConfig> cfgs = validatorCache.get(validatorKey);
+        if (cfgs == null) {
+            cfgs = Collections.unmodifiableList(buildValidatorConfigs(clazz, context, false, null));
+            List<ValidatorConfig> previous = validatorCache.putIfAbsent(validatorKey, cfgs);
+            if (previous != null) {
+                cfgs = previous;
+            }
+        } else if (reloadingConfigs) {
+            cfgs = Collections.unmodifiableList(buildValidatorConfigs(clazz, context, true, null));
+            validatorCache.put(validatorKey, cfgs);
+        }
+        return cfgs;
+    }
+
     public void validate(Object object, String context) throws ValidationException {
         validate(object, context, (String) null);
     }
@@ -318,9 +332,13 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
     }
 
     private List<ValidatorConfig> loadFile(String fileName, Class clazz, boolean checkFile) {
-        List<ValidatorConfig> retList = Collections.emptyList();
+        List<ValidatorConfig> retList = null;
         URL fileUrl = ClassLoaderUtil.getResource(fileName, clazz);
-        if ((checkFile && fileManager.fileNeedsReloading(fileUrl)) || !validatorFileCache.containsKey(fileName)) {
+        if (!(checkFile && fileManager.fileNeedsReloading(fileUrl))) {
+            retList = validatorFileCache.get(fileName);
+        }
+        if (retList == null) {
+            retList = Collections.emptyList();
             try (InputStream is = fileManager.loadFile(fileUrl)) {
                 if (is != null) {
                     retList = new ArrayList<>(validatorFileParser.parseActionValidatorConfigs(validatorFactory, is, fileName));
@@ -330,8 +348,6 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
             }
 
             validatorFileCache.put(fileName, retList);
-        } else {
-            retList = validatorFileCache.get(fileName);
         }
 
         return retList;
@@ -32,8 +32,18 @@ package ognl;
 
 import java.util.*;
 
+/**
+ * Pools the {@link Evaluation} objects created while evaluations are traced. Evaluations are pooled per thread
+ * and never shared between threads, so no synchronization is needed, and {@link #clear()} releases the
+ * evaluations pooled for the current thread once it is done with a request.
+ */
 public final class EvaluationPool extends Object
 {
+    /* number of evaluations kept per thread */
+    private static final int MAX_POOLED = 64;
+
+    private final ThreadLocal<Pool> _pools = new ThreadLocal<Pool>();
+
     public EvaluationPool()
     {
         this(0);
@@ -42,7 +52,7 @@ public final class EvaluationPool extends Object
     public EvaluationPool(int initialSize)
     {
         super();
-        // do not init object pooling
+        // the pools are created lazily per thread
     }
 
     /**
@@ -61,74 +71,123 @@ public final class EvaluationPool extends Object
      */
     public Evaluation create(SimpleNode node, Object source, boolean setOperation)
     {
-        // synchronization is removed as we do not rely anymore on the in-house object pooling
-        return new Evaluation(node, source, setOperation);
+        Pool pool = getPool();
+        Evaluation result;
+
+        if (pool.size > 0) {
+            result = pool.evaluations[--pool.size];
+            pool.evaluations[pool.size] = null;
+            result.init(node, source, setOperation);
+            pool.recovered++;
+        } else {
+            result = new Evaluation(node, source, setOperation);
+            pool.created++;
+        }
+        return result;
     }
 
     /**
         Recycles an Evaluation
-     * @deprecated object-pooling now relies on the jvm garbage collection
      */
     public void recycle(Evaluation value)
     {
-        // no need of recycling, we rely on the garbage collection efficiency
+        if (value != null) {
+            Pool pool = getPool();
+
+            value.reset();
+            if (pool.size < MAX_POOLED) {
+                pool.evaluations[pool.size++] = value;
+                pool.recycled++;
+            }
+        }
     }
 
     /**
         Recycles an of Evaluation and all of it's siblings
         and children.
-     * @deprecated object-pooling now relies on the jvm garbage collection
      */
     public void recycleAll(Evaluation value)
     {
-        // no need of recycling, we rely on the garbage collection efficiency
+        while (value != null) {
+            Evaluation next = value.getNext();
+
+            recycleAll(value.getFirstChild());
+            recycle(value);
+            value = next;
+        }
     }
 
     /**
         Recycles a List of Evaluation objects
-     * @deprecated object-pooling now relies on the jvm garbage collection
      */
     public void recycleAll(List value)
     {
-        // no need of recycling, we rely on the garbage collection efficiency
+        if (value != null) {
+            for (int i = 0, icount = value.size(); i < icount; i++) {
+                recycle((Evaluation) value.get(i));
+            }
+        }
     }
 
     /**
-        Returns the number of items in the pool
-     * @deprecated object-pooling now relies on the jvm garbage collection
+        Releases the evaluations pooled for the current thread.
+     */
+    public void clear()
+    {
+        _pools.remove();
+    }
+
+    /**
+        Returns the number of items in the pool of the current thread
      */
     public int getSize()
     {
-        return 0;
+        return getPool().size;
     }
 
     /**
-        Returns the number of items this pool has created since
-        it's construction.
-     * @deprecated object-pooling now relies on the jvm garbage collection
+        Returns the number of items the pool of the current thread has created
+        since it's construction.
      */
     public int getCreatedCount()
     {
-        return 0;
+        return getPool().created;
     }
 
     /**
-        Returns the number of items this pool has recovered from
-        the pool since its construction.
-     * @deprecated object-pooling now relies on the jvm garbage collection
+        Returns the number of items the pool of the current thread has recovered
+        from the pool since its construction.
      */
     public int getRecoveredCount()
     {
-        return 0;
+        return getPool().recovered;
     }
 
     /**
-        Returns the number of items this pool has recycled since
-        it's construction.
-     * @deprecated object-pooling now relies on the jvm garbage collection
+        Returns the number of items the pool of the current thread has recycled
+        since it's construction.
      */
     public int getRecycledCount()
     {
-        return 0;
+        return getPool().recycled;
+    }
+
+    private Pool getPool()
+    {
+        Pool result = _pools.get();
+
+        if (result == null) {
+            _pools.set(result = new Pool());
+        }
+        return result;
+    }
+
+    private static final class Pool
+    {
+        final Evaluation[] evaluations = new Evaluation[MAX_POOLED];
+        int size;
+        int created;
+        int recovered;
+        int recycled;
     }
 }
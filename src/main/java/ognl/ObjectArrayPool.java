@@ -30,14 +30,24 @@
 //--------------------------------------------------------------------------
 package ognl;
 
+import java.util.Arrays;
+
 /**
- * This class was previously intended to produce performance improvment.<br>
- * This hand-made object pooling is now a bottleneck under high load.<br>
- * We now rely on the new jvm garbage collection improvments to handle object allocation efficiently.
- * @deprecated object-pooling now relies on the jvm garbage collection
+ * Pools the small argument arrays used to call methods. The old global pool was a bottleneck under high
+ * load as it had to be synchronized, so arrays are now pooled per thread and never shared between threads.
+ * Recycled arrays are emptied, so they don't keep their elements reachable, and {@link #clear()} releases
+ * the arrays pooled for the current thread once it is done with a request.
  */
 public final class ObjectArrayPool extends Object
 {
+    /* longer arrays are allocated each time */
+    private static final int MAX_POOLED_LENGTH = 5;
+    /* number of arrays of each length kept per thread */
+    private static final int MAX_POOLED_PER_LENGTH = 8;
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    private final ThreadLocal<Pool> _pools = new ThreadLocal<Pool>();
+
     public ObjectArrayPool()
     {
         super();
@@ -45,6 +55,20 @@ public final class ObjectArrayPool extends Object
 
     public Object[] create(int arraySize)
     {
+        if (arraySize == 0) {
+            return EMPTY_ARRAY;
+        }
+        if (arraySize <= MAX_POOLED_LENGTH) {
+            Pool pool = _pools.get();
+
+            if (pool != null) {
+                Object[] result = pool.take(arraySize);
+
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
         return new Object[arraySize];
     }
 
@@ -99,10 +123,64 @@ public final class ObjectArrayPool extends Object
     }
 
     /**
-     * @deprecated object-pooling now relies on the jvm garbage collection
+     * Returns the array to the pool of the current thread. The array must not be used anymore by the caller.
      */
     public void recycle(Object[] value)
     {
-        // no need of recycling, we rely on the garbage collection efficiency
+        if ((value == null) || (value.length == 0) || (value.length > MAX_POOLED_LENGTH)) {
+            return;
+        }
+        Pool pool = _pools.get();
+
+        if (pool == null) {
+            _pools.set(pool = new Pool());
+        }
+        pool.put(value);
+    }
+
+    /**
+     * Releases the arrays pooled for the current thread.
+     */
+    public void clear()
+    {
+        _pools.remove();
+    }
+
+    private static final class Pool
+    {
+        private final Object[][][] _arrays = new Object[MAX_POOLED_LENGTH + 1][MAX_POOLED_PER_LENGTH][];
+        private final int[] _counts = new int[MAX_POOLED_LENGTH + 1];
+
+        Object[] take(int length)
+        {
+            int count = _counts[length];
+
+            if (count == 0) {
+                return null;
+            }
+            Object[] result = _arrays[length][--count];
+
+            _arrays[length][count] = null;
+            _counts[length] = count;
+            return result;
+        }
+
+        void put(Object[] value)
+        {
+            int length = value.length, count = _counts[length];
+
+            if (count == MAX_POOLED_PER_LENGTH) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                // recycled twice, it must not be handed out twice
+                if (_arrays[length][i] == value) {
+                    return;
+                }
+            }
+            Arrays.fill(value, null);
+            _arrays[length][count] = value;
+            _counts[length] = count + 1;
+        }
     }
 }
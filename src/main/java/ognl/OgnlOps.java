@@ -71,6 +71,18 @@ public abstract class OgnlOps implements NumericTypes
 
         if (v1 == v2) {
             result = 0;
+        } else if (v1 instanceof Integer && v2 instanceof Integer) {
+            int iv1 = (Integer) v1, iv2 = (Integer) v2;
+
+            result = (iv1 == iv2) ? 0 : ((iv1 < iv2) ? -1 : 1);
+        } else if (v1 instanceof Long && v2 instanceof Long) {
+            long lv1 = (Long) v1, lv2 = (Long) v2;
+
+            result = (lv1 == lv2) ? 0 : ((lv1 < lv2) ? -1 : 1);
+        } else if (v1 instanceof Double && v2 instanceof Double) {
+            double dv1 = (Double) v1, dv2 = (Double) v2;
+
+            result = (dv1 == dv2) ? 0 : ((dv1 < dv2) ? -1 : 1);
         } else {
             int t1 = getNumericType(v1), t2 = getNumericType(v2), type = getNumericType(t1, t2, true);
 
@@ -728,22 +740,22 @@ public abstract class OgnlOps implements NumericTypes
         case BOOL:
         case CHAR:
         case INT:
-            return new Integer((int) value);
+            return Integer.valueOf((int) value);
 
         case FLOAT:
-            if ((long) (float) value == value) { return new Float((float) value); }
+            if ((long) (float) value == value) { return Float.valueOf((float) value); }
             // else fall through:
         case DOUBLE:
-            if ((long) (double) value == value) { return new Double((double) value); }
+            if ((long) (double) value == value) { return Double.valueOf((double) value); }
             // else fall through:
         case LONG:
-            return new Long(value);
+            return Long.valueOf(value);
 
         case BYTE:
-            return new Byte((byte) value);
+            return Byte.valueOf((byte) value);
 
         case SHORT:
-            return new Short((short) value);
+            return Short.valueOf((short) value);
 
         default:
             return BigInteger.valueOf(value);
@@ -763,8 +775,8 @@ public abstract class OgnlOps implements NumericTypes
      */
     public static Number newReal(int type, double value)
     {
-        if (type == FLOAT) return new Float((float) value);
-        return new Double(value);
+        if (type == FLOAT) return Float.valueOf((float) value);
+        return Double.valueOf(value);
     }
 
     public static Object binaryOr(Object v1, Object v2)
@@ -791,6 +803,8 @@ public abstract class OgnlOps implements NumericTypes
     public static boolean equal(Object v1, Object v2)
     {
         if (v1 == null) return v2 == null;
+        if (v1 instanceof Integer && v2 instanceof Integer) return ((Integer) v1).intValue() == ((Integer) v2).intValue();
+        if (v1 instanceof Long && v2 instanceof Long) return ((Long) v1).longValue() == ((Long) v2).longValue();
         if (v1 == v2 || isEqual(v1, v2)) return true;
         if (v1 instanceof Number && v2 instanceof Number)
             return ((Number) v1).doubleValue() == ((Number) v2).doubleValue();
@@ -849,6 +863,9 @@ public abstract class OgnlOps implements NumericTypes
 
     public static Object add(Object v1, Object v2)
     {
+        if (v1 instanceof Integer && v2 instanceof Integer) return Integer.valueOf((Integer) v1 + (Integer) v2);
+        if (v1 instanceof Long && v2 instanceof Long) return Long.valueOf((Long) v1 + (Long) v2);
+        if (v1 instanceof Double && v2 instanceof Double) return Double.valueOf((Double) v1 + (Double) v2);
         int type = getNumericType(v1, v2, true);
         switch(type) {
         case BIGINT:
@@ -874,6 +891,9 @@ public abstract class OgnlOps implements NumericTypes
 
     public static Object subtract(Object v1, Object v2)
     {
+        if (v1 instanceof Integer && v2 instanceof Integer) return Integer.valueOf((Integer) v1 - (Integer) v2);
+        if (v1 instanceof Long && v2 instanceof Long) return Long.valueOf((Long) v1 - (Long) v2);
+        if (v1 instanceof Double && v2 instanceof Double) return Double.valueOf((Double) v1 - (Double) v2);
         int type = getNumericType(v1, v2);
         switch(type) {
         case BIGINT:
@@ -890,6 +910,9 @@ public abstract class OgnlOps implements NumericTypes
 
     public static Object multiply(Object v1, Object v2)
     {
+        if (v1 instanceof Integer && v2 instanceof Integer) return Integer.valueOf((Integer) v1 * (Integer) v2);
+        if (v1 instanceof Long && v2 instanceof Long) return Long.valueOf((Long) v1 * (Long) v2);
+        if (v1 instanceof Double && v2 instanceof Double) return Double.valueOf((Double) v1 * (Double) v2);
         int type = getNumericType(v1, v2);
         switch(type) {
         case BIGINT:
@@ -906,6 +929,9 @@ public abstract class OgnlOps implements NumericTypes
 
     public static Object divide(Object v1, Object v2)
     {
+        if (v1 instanceof Integer && v2 instanceof Integer) return Integer.valueOf((Integer) v1 / (Integer) v2);
+        if (v1 instanceof Long && v2 instanceof Long) return Long.valueOf((Long) v1 / (Long) v2);
+        if (v1 instanceof Double && v2 instanceof Double) return Double.valueOf((Double) v1 / (Double) v2);
         int type = getNumericType(v1, v2);
         switch(type) {
         case BIGINT:
@@ -922,6 +948,8 @@ public abstract class OgnlOps implements NumericTypes
 
     public static Object remainder(Object v1, Object v2)
     {
+        if (v1 instanceof Integer && v2 instanceof Integer) return Integer.valueOf((Integer) v1 % (Integer) v2);
+        if (v1 instanceof Long && v2 instanceof Long) return Long.valueOf((Long) v1 % (Long) v2);
         int type = getNumericType(v1, v2);
         switch(type) {
         case BIGDEC:
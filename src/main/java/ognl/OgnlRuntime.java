@@ -42,6 +42,7 @@ import java.math.BigInteger;
 import java.security.Permission;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class used by internal OGNL API to do various things like:
@@ -133,20 +134,27 @@ public class OgnlRuntime {
     static final ClassCache _instanceMethodCache = new ClassCacheImpl();
     static final ClassCache _invokePermissionCache = new ClassCacheImpl();
     static final ClassCache _fieldCache = new ClassCacheImpl();
-    static final List _superclasses = new ArrayList(); /* Used by fieldCache lookup */
     static final ClassCache[] _declaredMethods = new ClassCache[]{new ClassCacheImpl(), new ClassCacheImpl()};
 
     static final Map _primitiveTypes = new HashMap(101);
     static final ClassCache _primitiveDefaults = new ClassCacheImpl();
-    static final Map _methodParameterTypesCache = new HashMap(101);
-    static final Map _genericMethodParameterTypesCache = new HashMap(101);
-    static final Map _ctorParameterTypesCache = new HashMap(101);
+    static final Map<Method, Class[]> _methodParameterTypesCache = new ConcurrentHashMap<Method, Class[]>(101);
+    static final Map<Method, Class[]> _genericMethodParameterTypesCache = new ConcurrentHashMap<Method, Class[]>(101);
+    static final Map<Constructor, Class[]> _ctorParameterTypesCache = new ConcurrentHashMap<Constructor, Class[]>(101);
     static SecurityManager _securityManager = System.getSecurityManager();
     static final EvaluationPool _evaluationPool = new EvaluationPool();
     static final ObjectArrayPool _objectArrayPool = new ObjectArrayPool();
 
     static final Map<Method, Boolean> _methodAccessCache = new ConcurrentHashMap<Method, Boolean>();
     static final Map<Method, Boolean> _methodPermCache = new ConcurrentHashMap<Method, Boolean>();
+
+    /**
+     * Pre-resolved invokers used when {@link #isUseLockFreeInvocation()} is enabled. Values are either an
+     * accessible {@link Method} that can be invoked directly or {@link #NotFound} when the method could not
+     * be made accessible and the synchronized invocation path has to be used.
+     */
+    static final ConcurrentMap<Method, Object> _methodInvokerCache = new ConcurrentHashMap<Method, Object>();
+    static volatile boolean _useLockFreeInvocation = false;
     
     static final ClassPropertyMethodCache cacheSetMethod = new ClassPropertyMethodCache();
     static final ClassPropertyMethodCache cacheGetMethod = new ClassPropertyMethodCache();
@@ -369,11 +377,11 @@ public class OgnlRuntime {
         _instanceMethodCache.clear();
         _invokePermissionCache.clear();
         _fieldCache.clear();
-        _superclasses.clear();
         _declaredMethods[0].clear();
         _declaredMethods[1].clear();
         _methodAccessCache.clear();
         _methodPermCache.clear();
+        _methodInvokerCache.clear();
     }
 
     /**
@@ -427,6 +435,24 @@ public class OgnlRuntime {
         return _compiler;
     }
 
+    /**
+     * Enables or disables lock free method invocation. When enabled, accessibility and permissions of
+     * each {@link Method} are resolved only once into an invoker which is cached and reused, so that
+     * steady state invocations of {@link #invokeMethod(Object, Method, Object[])} don't synchronize
+     * on the method.
+     *
+     * @param useLockFreeInvocation true to enable lock free invocation
+     */
+    public static void setUseLockFreeInvocation(boolean useLockFreeInvocation)
+    {
+        _useLockFreeInvocation = useLockFreeInvocation;
+    }
+
+    public static boolean isUseLockFreeInvocation()
+    {
+        return _useLockFreeInvocation;
+    }
+
     public static void compileExpression(OgnlContext context, Node expression, Object root)
             throws Exception
     {
@@ -590,16 +616,13 @@ public class OgnlRuntime {
      */
     public static Class[] getParameterTypes(Method m)
     {
-        synchronized (_methodParameterTypesCache)
-        {
-            Class[] result;
+        Class[] result;
 
-            if ((result = (Class[]) _methodParameterTypesCache.get(m)) == null)
-            {
-                _methodParameterTypesCache.put(m, result = m.getParameterTypes());
-            }
-            return result;
+        if ((result = _methodParameterTypesCache.get(m)) == null)
+        {
+            _methodParameterTypesCache.put(m, result = m.getParameterTypes());
         }
+        return result;
     }
 
     /**
@@ -644,7 +667,7 @@ public class OgnlRuntime {
             return getParameterTypes(m);
         }
 
-        if ((types = (Class[]) _genericMethodParameterTypesCache.get(m)) != null)
+        if ((types = _genericMethodParameterTypesCache.get(m)) != null)
         {
             ParameterizedType genericSuperclass = (ParameterizedType) typeGenericSuperclass;
             if (Arrays.equals(types, genericSuperclass.getActualTypeArguments())) {
@@ -694,10 +717,7 @@ public class OgnlRuntime {
             types[i] = m.getParameterTypes()[i];
         }
 
-        synchronized (_genericMethodParameterTypesCache)
-        {
-            _genericMethodParameterTypesCache.put(m, types);
-        }
+        _genericMethodParameterTypesCache.put(m, types);
 
         return types;
     }
@@ -762,12 +782,8 @@ public class OgnlRuntime {
     public static Class[] getParameterTypes(Constructor c)
     {
         Class[] result;
-        if ((result = (Class[]) _ctorParameterTypesCache.get(c)) == null) {
-            synchronized (_ctorParameterTypesCache) {
-                if ((result = (Class[]) _ctorParameterTypesCache.get(c)) == null) {
-                    _ctorParameterTypesCache.put(c, result = c.getParameterTypes());
-                }
-            }
+        if ((result = _ctorParameterTypesCache.get(c)) == null) {
+            _ctorParameterTypesCache.put(c, result = c.getParameterTypes());
         }
         return result;
     }
@@ -800,22 +816,84 @@ public class OgnlRuntime {
         Permission result;
         Class mc = method.getDeclaringClass();
 
-        synchronized (_invokePermissionCache) {
-            Map permissions = (Map) _invokePermissionCache.get(mc);
+        Map permissions = (Map) _invokePermissionCache.get(mc);
 
-            if (permissions == null) {
-                _invokePermissionCache.put(mc, permissions = new HashMap(101));
-            }
-            if ((result = (Permission) permissions.get(method.getName())) == null) {
-                result = new OgnlInvokePermission("invoke." + mc.getName() + "." + method.getName());
-                permissions.put(method.getName(), result);
-            }
+        if (permissions == null) {
+            _invokePermissionCache.put(mc, permissions = new ConcurrentHashMap(101));
+        }
+        if ((result = (Permission) permissions.get(method.getName())) == null) {
+            result = new OgnlInvokePermission("invoke." + mc.getName() + "." + method.getName());
+            permissions.put(method.getName(), result);
         }
         return result;
     }
 
     public static Object invokeMethod(Object target, Method method, Object[] argsArray)
             throws InvocationTargetException, IllegalAccessException
+    {
+        if (_useLockFreeInvocation)
+        {
+            Object invoker = _methodInvokerCache.get(method);
+            if (invoker == null)
+            {
+                invoker = createMethodInvoker(method);
+            }
+            if (invoker != NotFound)
+            {
+                return ((Method) invoker).invoke(target, argsArray);
+            }
+        }
+
+        return invokeMethodSynchronized(target, method, argsArray);
+    }
+
+    /**
+     * Resolves permission and accessibility of the given method once. Methods which aren't accessible
+     * are replaced by a private copy obtained from the declaring class with accessibility switched on
+     * permanently, so the shared {@link Method} instance is never modified.
+     *
+     * @param method the method to create invoker for
+     * @return accessible {@link Method} or {@link #NotFound} if the synchronized path must be used
+     * @throws IllegalAccessException if the security manager denies invocation of the method
+     */
+    private static Object createMethodInvoker(Method method) throws IllegalAccessException
+    {
+        if (_securityManager != null)
+        {
+            try
+            {
+                _securityManager.checkPermission(getPermission(method));
+                _methodPermCache.put(method, Boolean.TRUE);
+            } catch (SecurityException ex) {
+                // no invoker is cached for a denied method and the FALSE entry makes the synchronized
+                // path check again as well, so the permission is checked again on the next invocation
+                _methodPermCache.put(method, Boolean.FALSE);
+                throw new IllegalAccessException("Method [" + method + "] cannot be accessed.");
+            }
+        }
+
+        Object invoker = method;
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers()))
+        {
+            try
+            {
+                Method copy = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+                copy.setAccessible(true);
+                invoker = copy;
+            } catch (NoSuchMethodException e) {
+                invoker = NotFound;
+            } catch (RuntimeException e) {
+                // SecurityException or module access restrictions
+                invoker = NotFound;
+            }
+        }
+
+        Object previous = _methodInvokerCache.putIfAbsent(method, invoker);
+        return previous != null ? previous : invoker;
+    }
+
+    private static Object invokeMethodSynchronized(Object target, Method method, Object[] argsArray)
+            throws InvocationTargetException, IllegalAccessException
     {
         boolean syncInvoke = false;
         boolean checkPermission = false;
@@ -1747,11 +1825,7 @@ public class OgnlRuntime {
     {
         List result;
         if ((result = (List) _constructorCache.get(targetClass)) == null) {
-            synchronized (_constructorCache) {
-                if ((result = (List) _constructorCache.get(targetClass)) == null) {
-                    _constructorCache.put(targetClass, result = Arrays.asList(targetClass.getConstructors()));
-                }
-            }
+            _constructorCache.put(targetClass, result = Arrays.asList(targetClass.getConstructors()));
         }
         return result;
     }
@@ -1762,45 +1836,39 @@ public class OgnlRuntime {
         Map result;
 
         if ((result = (Map) cache.get(targetClass)) == null) {
-            synchronized (cache)
-            {
-                if ((result = (Map) cache.get(targetClass)) == null)
-                {
-                    result = new HashMap(23);
+            result = new HashMap(23);
 
-                    List<Class> toExamined = new LinkedList<Class>();
-                    for (Class c = targetClass; c != null; c = c.getSuperclass())
-                    {
-                        toExamined.add(c);
-                    }
-                    // Including interfaces is needed as from Java 8 intefaces can implement defaul methods
-                    toExamined.addAll(Arrays.asList(targetClass.getInterfaces()));
+            List<Class> toExamined = new LinkedList<Class>();
+            for (Class c = targetClass; c != null; c = c.getSuperclass())
+            {
+                toExamined.add(c);
+            }
+            // Including interfaces is needed as from Java 8 intefaces can implement defaul methods
+            toExamined.addAll(Arrays.asList(targetClass.getInterfaces()));
 
-                    for (Class c : toExamined)
-                    {
-                        Method[] ma = c.getDeclaredMethods();
+            for (Class c : toExamined)
+            {
+                Method[] ma = c.getDeclaredMethods();
 
-                        for (int i = 0, icount = ma.length; i < icount; i++)
-                        {
-                            // skip over synthetic methods
+                for (int i = 0, icount = ma.length; i < icount; i++)
+                {
+                    // skip over synthetic methods
 
-                            if (!isMethodCallable(ma[i]))
-                                continue;
+                    if (!isMethodCallable(ma[i]))
+                        continue;
 
-                            if (Modifier.isStatic(ma[i].getModifiers()) == staticMethods)
-                            {
-                                List ml = (List) result.get(ma[i].getName());
+                    if (Modifier.isStatic(ma[i].getModifiers()) == staticMethods)
+                    {
+                        List ml = (List) result.get(ma[i].getName());
 
-                                if (ml == null)
-                                    result.put(ma[i].getName(), ml = new ArrayList());
+                        if (ml == null)
+                            result.put(ma[i].getName(), ml = new ArrayList());
 
-                                ml.add(ma[i]);
-                            }
-                        }
+                        ml.add(ma[i]);
                     }
-                    cache.put(targetClass, result);
                 }
             }
+            cache.put(targetClass, result);
         }
         return result;
     }
@@ -1811,37 +1879,31 @@ public class OgnlRuntime {
         Map result;
 
         if ((result = (Map) cache.get(targetClass)) == null) {
-            synchronized (cache)
-            {
-                if ((result = (Map) cache.get(targetClass)) == null)
-                {
-                    result = new HashMap(23);
+            result = new HashMap(23);
 
-                    for (Class c = targetClass; c != null; c = c.getSuperclass())
-                    {
-                        Method[] ma = c.getMethods();
+            for (Class c = targetClass; c != null; c = c.getSuperclass())
+            {
+                Method[] ma = c.getMethods();
 
-                        for (int i = 0, icount = ma.length; i < icount; i++)
-                        {
-                            // skip over synthetic methods
+                for (int i = 0, icount = ma.length; i < icount; i++)
+                {
+                    // skip over synthetic methods
 
-                            if (!isMethodCallable(ma[i]))
-                                continue;
+                    if (!isMethodCallable(ma[i]))
+                        continue;
 
-                            if (Modifier.isStatic(ma[i].getModifiers()) == staticMethods)
-                            {
-                                List ml = (List) result.get(ma[i].getName());
+                    if (Modifier.isStatic(ma[i].getModifiers()) == staticMethods)
+                    {
+                        List ml = (List) result.get(ma[i].getName());
 
-                                if (ml == null)
-                                    result.put(ma[i].getName(), ml = new ArrayList());
+                        if (ml == null)
+                            result.put(ma[i].getName(), ml = new ArrayList());
 
-                                ml.add(ma[i]);
-                            }
-                        }
+                        ml.add(ma[i]);
                     }
-                    cache.put(targetClass, result);
                 }
             }
+            cache.put(targetClass, result);
         }
         return result;
     }
@@ -1861,18 +1923,15 @@ public class OgnlRuntime {
         Map result;
 
         if ((result = (Map) _fieldCache.get(targetClass)) == null) {
-            synchronized (_fieldCache) {
-                if ((result = (Map) _fieldCache.get(targetClass)) == null) {
-                    Field fa[];
-
-                    result = new HashMap(23);
-                    fa = targetClass.getDeclaredFields();
-                    for (int i = 0; i < fa.length; i++) {
-                        result.put(fa[i].getName(), fa[i]);
-                    }
-                    _fieldCache.put(targetClass, result);
-                }
+            Field fa[];
+
+            // getField() adds the lookups of inherited and missing fields to this map later on
+            result = new ConcurrentHashMap(23);
+            fa = targetClass.getDeclaredFields();
+            for (int i = 0; i < fa.length; i++) {
+                result.put(fa[i].getName(), fa[i]);
             }
+            _fieldCache.put(targetClass, result);
         }
         return result;
     }
@@ -1883,43 +1942,27 @@ public class OgnlRuntime {
 
         Object o = getFields(inClass).get(name);
         if(o == null) {
-            synchronized (_fieldCache) {
-                o = getFields(inClass).get(name);
-
-                if (o == null) {
-                    _superclasses.clear();
-                    for (Class sc = inClass; (sc != null); sc = sc.getSuperclass()) {
-                        if ((o = getFields(sc).get(name)) == NotFound)
-                            break;
+            List superclasses = new ArrayList();
+            for (Class sc = inClass; (sc != null); sc = sc.getSuperclass()) {
+                if ((o = getFields(sc).get(name)) == NotFound)
+                    break;
 
-                        _superclasses.add(sc);
+                superclasses.add(sc);
 
-                        if ((result = (Field) o) != null)
-                            break;
-                    }
-                    /*
-                     * Bubble the found value (either cache miss or actual field) to all supeclasses
-                     * that we saw for quicker access next time.
-                     */
-                    for (int i = 0, icount = _superclasses.size(); i < icount; i++) {
-                        getFields((Class) _superclasses.get(i)).put(name, (result == null) ? NotFound : result);
-                    }
-                } else {
-                    if (o instanceof Field) {
-                        result = (Field) o;
-                    } else {
-                        if (result == NotFound)
-                            result = null;
-                    }
-                }
+                if ((result = (Field) o) != null)
+                    break;
+            }
+            /*
+             * Bubble the found value (either cache miss or actual field) to all supeclasses
+             * that we saw for quicker access next time.
+             */
+            for (int i = 0, icount = superclasses.size(); i < icount; i++) {
+                getFields((Class) superclasses.get(i)).put(name, (result == null) ? NotFound : result);
             }
         }
         else {
             if (o instanceof Field) {
                 result = (Field) o;
-            } else {
-                if (result == NotFound)
-                    result = null;
             }
         }
         return result;
@@ -2095,49 +2138,42 @@ public class OgnlRuntime {
 
         Map propertyCache = (Map) cache.get(targetClass);
         if ((propertyCache == null) || ((result = (List) propertyCache.get(propertyName)) == null)) {
-            synchronized (cache) {
-                propertyCache = (Map) cache.get(targetClass);
-
-                if ((propertyCache == null) || ((result = (List) propertyCache.get(propertyName)) == null)) {
+            String baseName = capitalizeBeanPropertyName(propertyName);
 
-                    String baseName = capitalizeBeanPropertyName(propertyName);
+            for (Class c = targetClass; c != null; c = c.getSuperclass()) {
+                Method[] methods = c.getDeclaredMethods();
 
-                    for (Class c = targetClass; c != null; c = c.getSuperclass()) {
-                        Method[] methods = c.getDeclaredMethods();
+                for (int i = 0; i < methods.length; i++) {
 
-                        for (int i = 0; i < methods.length; i++) {
-
-                            if (!isMethodCallable(methods[i]))
-                                continue;
+                    if (!isMethodCallable(methods[i]))
+                        continue;
 
-                            String ms = methods[i].getName();
+                    String ms = methods[i].getName();
 
-                            if (ms.endsWith(baseName)) {
-                                boolean isSet = false, isIs = false;
+                    if (ms.endsWith(baseName)) {
+                        boolean isSet = false, isIs = false;
 
-                                if ((isSet = ms.startsWith(SET_PREFIX)) || ms.startsWith(GET_PREFIX)
-                                    || (isIs = ms.startsWith(IS_PREFIX))) {
-                                    int prefixLength = (isIs ? 2 : 3);
+                        if ((isSet = ms.startsWith(SET_PREFIX)) || ms.startsWith(GET_PREFIX)
+                            || (isIs = ms.startsWith(IS_PREFIX))) {
+                            int prefixLength = (isIs ? 2 : 3);
 
-                                    if (isSet == findSets) {
-                                        if (baseName.length() == (ms.length() - prefixLength)) {
-                                            if (result == null) {
-                                                result = new ArrayList();
-                                            }
-                                            result.add(methods[i]);
-                                        }
+                            if (isSet == findSets) {
+                                if (baseName.length() == (ms.length() - prefixLength)) {
+                                    if (result == null) {
+                                        result = new ArrayList();
                                     }
+                                    result.add(methods[i]);
                                 }
                             }
                         }
                     }
-                    if (propertyCache == null) {
-                        cache.put(targetClass, propertyCache = new HashMap(101));
-                    }
-
-                    propertyCache.put(propertyName, (result == null) ? NotFoundList : result);
                 }
             }
+            if (propertyCache == null) {
+                cache.put(targetClass, propertyCache = new ConcurrentHashMap(101));
+            }
+
+            propertyCache.put(propertyName, (result == null) ? NotFoundList : result);
         }
         return (result == NotFoundList) ? null : result;
     }
@@ -2411,33 +2447,28 @@ public class OgnlRuntime {
 
         if ((result = (Map) _propertyDescriptorCache.get(targetClass)) == null)
         {
-            synchronized (_propertyDescriptorCache) {
-                if ((result = (Map) _propertyDescriptorCache.get(targetClass)) == null)
-                {
-                    PropertyDescriptor[] pda = Introspector.getBeanInfo(targetClass).getPropertyDescriptors();
+            PropertyDescriptor[] pda = Introspector.getBeanInfo(targetClass).getPropertyDescriptors();
 
-                    result = new HashMap(101);
-                    for (int i = 0, icount = pda.length; i < icount; i++)
-                    {
-                        // workaround for Introspector bug 6528714 (bugs.sun.com)
-                        if (pda[i].getReadMethod() != null && !isMethodCallable(pda[i].getReadMethod()))
-                        {
-                            pda[i].setReadMethod(findClosestMatchingMethod(targetClass, pda[i].getReadMethod(), pda[i].getName(),
-                                                                           pda[i].getPropertyType(), true));
-                        }
-                        if (pda[i].getWriteMethod() != null && !isMethodCallable(pda[i].getWriteMethod()))
-                        {
-                            pda[i].setWriteMethod(findClosestMatchingMethod(targetClass, pda[i].getWriteMethod(), pda[i].getName(),
-                                                                            pda[i].getPropertyType(), false));
-                        }
-
-                        result.put(pda[i].getName(), pda[i]);
-                    }
-
-                    findObjectIndexedPropertyDescriptors(targetClass, result);
-                    _propertyDescriptorCache.put(targetClass, result);
+            result = new HashMap(101);
+            for (int i = 0, icount = pda.length; i < icount; i++)
+            {
+                // workaround for Introspector bug 6528714 (bugs.sun.com)
+                if (pda[i].getReadMethod() != null && !isMethodCallable(pda[i].getReadMethod()))
+                {
+                    pda[i].setReadMethod(findClosestMatchingMethod(targetClass, pda[i].getReadMethod(), pda[i].getName(),
+                                                                   pda[i].getPropertyType(), true));
+                }
+                if (pda[i].getWriteMethod() != null && !isMethodCallable(pda[i].getWriteMethod()))
+                {
+                    pda[i].setWriteMethod(findClosestMatchingMethod(targetClass, pda[i].getWriteMethod(), pda[i].getName(),
+                                                                    pda[i].getPropertyType(), false));
                 }
+
+                result.put(pda[i].getName(), pda[i]);
             }
+
+            findObjectIndexedPropertyDescriptors(targetClass, result);
+            _propertyDescriptorCache.put(targetClass, result);
         }
         return result;
     }
@@ -2484,12 +2515,8 @@ public class OgnlRuntime {
 
         if (targetClass != null) {
             if ((result = (PropertyDescriptor[]) _propertyDescriptorCache.get(targetClass)) == null) {
-                synchronized (_propertyDescriptorCache) {
-                    if ((result = (PropertyDescriptor[]) _propertyDescriptorCache.get(targetClass)) == null) {
-                        _propertyDescriptorCache.put(targetClass, result = Introspector.getBeanInfo(targetClass)
-                                .getPropertyDescriptors());
-                    }
-                }
+                _propertyDescriptorCache.put(targetClass, result = Introspector.getBeanInfo(targetClass)
+                        .getPropertyDescriptors());
             }
         }
         return result;
@@ -2519,9 +2546,7 @@ public class OgnlRuntime {
 
     public static void setMethodAccessor(Class cls, MethodAccessor accessor)
     {
-        synchronized (_methodAccessors) {
-            _methodAccessors.put(cls, accessor);
-        }
+        _methodAccessors.put(cls, accessor);
     }
 
     public static MethodAccessor getMethodAccessor(Class cls)
@@ -2535,9 +2560,7 @@ public class OgnlRuntime {
 
     public static void setPropertyAccessor(Class cls, PropertyAccessor accessor)
     {
-        synchronized (_propertyAccessors) {
-            _propertyAccessors.put(cls, accessor);
-        }
+        _propertyAccessors.put(cls, accessor);
     }
 
     public static PropertyAccessor getPropertyAccessor(Class cls)
@@ -2561,9 +2584,7 @@ public class OgnlRuntime {
 
     public static void setElementsAccessor(Class cls, ElementsAccessor accessor)
     {
-        synchronized (_elementsAccessors) {
-            _elementsAccessors.put(cls, accessor);
-        }
+        _elementsAccessors.put(cls, accessor);
     }
 
     public static NullHandler getNullHandler(Class cls)
@@ -2577,9 +2598,7 @@ public class OgnlRuntime {
 
     public static void setNullHandler(Class cls, NullHandler handler)
     {
-        synchronized (_nullHandlers) {
-            _nullHandlers.put(cls, handler);
-        }
+        _nullHandlers.put(cls, handler);
     }
 
     private static Object getHandler(Class forClass, ClassCache handlers)
@@ -2587,46 +2606,42 @@ public class OgnlRuntime {
         Object answer = null;
 
         if ((answer = handlers.get(forClass)) == null) {
-            synchronized (handlers) {
-                if ((answer = handlers.get(forClass)) == null) {
-                    Class keyFound;
+            Class keyFound;
 
-                    if (forClass.isArray()) {
-                        answer = handlers.get(Object[].class);
-                        keyFound = null;
-                    } else {
-                        keyFound = forClass;
-                        outer:
-                        for (Class c = forClass; c != null; c = c.getSuperclass()) {
-                            answer = handlers.get(c);
+            if (forClass.isArray()) {
+                answer = handlers.get(Object[].class);
+                keyFound = null;
+            } else {
+                keyFound = forClass;
+                outer:
+                for (Class c = forClass; c != null; c = c.getSuperclass()) {
+                    answer = handlers.get(c);
+                    if (answer == null) {
+                        Class[] interfaces = c.getInterfaces();
+                        for (int index = 0, count = interfaces.length; index < count; ++index) {
+                            Class iface = interfaces[index];
+
+                            answer = handlers.get(iface);
                             if (answer == null) {
-                                Class[] interfaces = c.getInterfaces();
-                                for (int index = 0, count = interfaces.length; index < count; ++index) {
-                                    Class iface = interfaces[index];
-
-                                    answer = handlers.get(iface);
-                                    if (answer == null) {
-                                        /* Try super-interfaces */
-                                        answer = getHandler(iface, handlers);
-                                    }
-                                    if (answer != null) {
-                                        keyFound = iface;
-                                        break outer;
-                                    }
-                                }
-                            } else {
-                                keyFound = c;
-                                break;
+                                /* Try super-interfaces */
+                                answer = getHandler(iface, handlers);
+                            }
+                            if (answer != null) {
+                                keyFound = iface;
+                                break outer;
                             }
                         }
-                    }
-                    if (answer != null) {
-                        if (keyFound != forClass) {
-                            handlers.put(forClass, answer);
-                        }
+                    } else {
+                        keyFound = c;
+                        break;
                     }
                 }
             }
+            if (answer != null) {
+                if (keyFound != forClass) {
+                    handlers.put(forClass, answer);
+                }
+            }
         }
         return answer;
     }
@@ -2763,6 +2778,16 @@ public class OgnlRuntime {
         return _objectArrayPool;
     }
 
+    /**
+     * Releases the evaluations and argument arrays pooled for the current thread, should be called
+     * when the thread is done with a request.
+     */
+    public static void clearPools()
+    {
+        _evaluationPool.clear();
+        _objectArrayPool.clear();
+    }
+
     /**
      * Registers the specified {@link ClassCacheInspector} with all class reflection based internal
      * caches.  This may have a significant performance impact so be careful using this in production scenarios.
@@ -2,25 +2,26 @@ package ognl.internal;
 
 import ognl.ClassCacheInspector;
 
-import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Implementation of {@link ClassCache}.
+ * Implementation of {@link ClassCache}. It is safe to use from multiple threads, reads don't block and
+ * the table grows with the number of classes cached.
  */
 public class ClassCacheImpl implements ClassCache {
 
-    /* this MUST be a power of 2 */
-    private static final int TABLE_SIZE = 512;
-    /* ...and now you see why. The table size is used as a mask for generating hashes */
-    private static final int TABLE_SIZE_MASK = TABLE_SIZE - 1;
+    private static final int INITIAL_CAPACITY = 512;
 
-    private Entry[] _table;
-    private ClassCacheInspector _classInspector;
-    private int _size = 0;
+    /* values can't be null in a ConcurrentMap, so null values are stored as this marker */
+    private static final Object NULL_VALUE = new Object();
+
+    private final ConcurrentMap<Class, Object> _table;
+    private volatile ClassCacheInspector _classInspector;
 
     public ClassCacheImpl()
     {
-        _table = new Entry[TABLE_SIZE];
+        _table = new ConcurrentHashMap<Class, Object>(INITIAL_CAPACITY);
     }
 
     public void setClassInspector(ClassCacheInspector inspector)
@@ -30,90 +31,40 @@ public class ClassCacheImpl implements ClassCache {
 
     public void clear()
     {
-        for (int i=0; i < _table.length; i++)
-        {
-            _table[i] = null;
-        }
-
-        _size = 0;
+        _table.clear();
     }
 
     public int getSize()
     {
-        return _size;
+        return _table.size();
     }
 
     public final Object get(Class key)
     {
-        Object result = null;
-        int i = key.hashCode() & TABLE_SIZE_MASK;
-
-        for (Entry entry = _table[i]; entry != null; entry = entry.next)
-        {
-            if (entry.key == key)
-            {
-                result = entry.value;
-                break;
-            }
-        }
-
-        return result;
+        Object result = _table.get(key);
+
+        return (result == NULL_VALUE) ? null : result;
     }
 
     public final Object put(Class key, Object value)
     {
-        if (_classInspector != null && !_classInspector.shouldCache(key))
+        ClassCacheInspector inspector = _classInspector;
+        if (inspector != null && !inspector.shouldCache(key))
             return value;
 
-        Object result = null;
-        int i = key.hashCode() & TABLE_SIZE_MASK;
-        Entry entry = _table[i];
-
-        if (entry == null)
-        {
-            _table[i] = new Entry(key, value);
-            _size++;
-        } else
-        {
-            if (entry.key == key)
-            {
-                result = entry.value;
-                entry.value = value;
-            } else
-            {
-                while (true)
-                {
-                    if (entry.key == key)
-                    {
-                        /* replace value */
-                        result = entry.value;
-                        entry.value = value;
-                        break;
-                    } else
-                    {
-                        if (entry.next == null)
-                        {
-                            /* add value */
-                            entry.next = new Entry(key, value);
-                            break;
-                        }
-                    }
-                    entry = entry.next;
-                }
-            }
-        }
-
-        return result;
+        Object result = _table.put(key, (value == null) ? NULL_VALUE : value);
+
+        return (result == NULL_VALUE) ? null : result;
     }
 
     public String toString()
     {
         return "ClassCacheImpl[" +
-               "_table=" + (_table == null ? null : Arrays.asList(_table)) +
+               "_table=" + _table +
                '\n' +
                ", _classInspector=" + _classInspector +
                '\n' +
-               ", _size=" + _size +
+               ", _size=" + _table.size() +
                '\n' +
                ']';
     }
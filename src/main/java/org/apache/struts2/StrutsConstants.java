@@ -239,9 +239,24 @@ public final class StrutsConstants {
     /** Enables caching of parsed OGNL expressions **/
     public static final String STRUTS_ENABLE_OGNL_EXPRESSION_CACHE = "struts.ognl.enableExpressionCache";
 
+    /** Maximum number of parsed OGNL expressions kept in the cache **/
+    public static final String STRUTS_OGNL_EXPRESSION_CACHE_MAX_SIZE = "struts.ognl.expressionCacheMaxSize";
+
     /** Enables evaluation of OGNL expressions **/
     public static final String STRUTS_ENABLE_OGNL_EVAL_EXPRESSION = "struts.ognl.enableOGNLEvalExpression";
 
+    /** Enables lock free invocation of methods by OGNL, see {@link ognl.OgnlRuntime#setUseLockFreeInvocation(boolean)} **/
+    public static final String STRUTS_ENABLE_OGNL_LOCK_FREE_INVOCATION = "struts.ognl.enableLockFreeInvocation";
+
+    /**
+     * Number of evaluations after which a cached OGNL expression is compiled to bytecode, 0 disables the compilation.
+     * Compiled expressions call the getters directly instead of going through the OGNL runtime, the member access
+     * (excluded classes, packages and properties) is checked for each getter before every evaluation instead.
+     * To know the class of every object in the chain without evaluating it, only chains of getters returning final
+     * classes are compiled.
+     **/
+    public static final String STRUTS_OGNL_EXPRESSION_COMPILATION_THRESHOLD = "struts.ognl.expressionCompilationThreshold";
+
     /** Disables {@link org.apache.struts2.dispatcher.StrutsRequestWrapper} request attribute value stack lookup (JSTL accessibility) **/
     public static final String STRUTS_DISABLE_REQUEST_ATTRIBUTE_VALUE_STACK_LOOKUP = "struts.disableRequestAttributeValueStackLookup";
 
@@ -23,6 +23,7 @@ package org.apache.struts2.components;
 
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.util.AnnotationUtils;
+import com.opensymphony.xwork2.util.BoundedConcurrentCache;
 import com.opensymphony.xwork2.util.TextParseUtil;
 import com.opensymphony.xwork2.util.ValueStack;
 import org.apache.commons.lang3.BooleanUtils;
@@ -66,12 +67,19 @@ public class Component {
      */
     protected static ConcurrentMap<Class<?>, Collection<String>> standardAttributesMap = new ConcurrentHashMap<>();
 
+    /**
+     * Caches attribute values already classified as %{...} expressions, looked up by equality. Values without
+     * a '%' are plain literals and are never cached, so dynamic values computed per request don't churn the cache.
+     */
+    private static final BoundedConcurrentCache<String, ParsedAttribute> parsedAttributes = new BoundedConcurrentCache<>(4096);
+
     protected boolean devMode = false;
     protected ValueStack stack;
     protected Map parameters;
     protected ActionMapper actionMapper;
     protected boolean throwExceptionOnELFailure;
     private UrlHelper urlHelper;
+    private Boolean altSyntax;
 
     /**
      * Constructor.
@@ -285,15 +293,25 @@ public class Component {
      * the parameter expression is returned as is.
      */
 	protected String stripExpressionIfAltSyntax(String expr) {
-		return ComponentUtils.stripExpressionIfAltSyntax(stack, expr);
+		if (altSyntax()) {
+			ParsedAttribute attribute = parseAttribute(expr);
+			if (attribute.strippedExpression != null) {
+				return attribute.strippedExpression;
+			}
+		}
+		return expr;
 	}
 
     /**
-     * See <code>struts.properties</code> where the altSyntax flag is defined.
+     * See <code>struts.properties</code> where the altSyntax flag is defined. The flag is looked up once
+     * per component, as it cannot change while the component is being evaluated.
      * @return if the altSyntax enabled? [TRUE]
      */
     public boolean altSyntax() {
-        return ComponentUtils.altSyntax(stack);
+        if (altSyntax == null) {
+            altSyntax = ComponentUtils.altSyntax(stack);
+        }
+        return altSyntax;
     }
 
     /**
@@ -373,7 +391,7 @@ public class Component {
      */
     protected Object findValue(String expr, Class toType) {
         if (altSyntax() && toType == String.class) {
-            if (ComponentUtils.containsExpression(expr)) {
+            if (parseAttribute(expr).containsExpression) {
                 return TextParseUtil.translateVariables('%', expr, stack);
             } else {
                 return expr;
@@ -385,6 +403,18 @@ public class Component {
         }
     }
 
+    private static ParsedAttribute parseAttribute(String expr) {
+        if (expr.indexOf('%') < 0) {
+            return ParsedAttribute.LITERAL;
+        }
+        ParsedAttribute attribute = parsedAttributes.get(expr);
+        if (attribute == null) {
+            attribute = new ParsedAttribute(expr);
+            parsedAttributes.putIfAbsent(expr, attribute);
+        }
+        return attribute;
+    }
+
     /**
      * Renders an action URL by consulting the {@link org.apache.struts2.dispatcher.mapper.ActionMapper}.
      * @param action      the action
@@ -553,4 +583,22 @@ public class Component {
         return standardAttributes;
     }
 
+
+    /**
+     * Attribute value classified once as a literal or an expression
+     */
+    private static final class ParsedAttribute {
+
+        static final ParsedAttribute LITERAL = new ParsedAttribute("");
+
+        private final boolean containsExpression;
+        // the expression without %{ and }, null if the value isn't a single %{...} expression
+        private final String strippedExpression;
+
+        ParsedAttribute(String expr) {
+            this.containsExpression = ComponentUtils.containsExpression(expr);
+            this.strippedExpression = ComponentUtils.isExpression(expr) ? expr.substring(2, expr.length() - 1) : null;
+        }
+    }
+
 }
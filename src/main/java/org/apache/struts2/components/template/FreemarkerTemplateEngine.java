@@ -28,22 +28,32 @@ import com.opensymphony.xwork2.util.ClassLoaderUtil;
 import com.opensymphony.xwork2.util.ValueStack;
 import freemarker.core.ParseException;
 import freemarker.template.Configuration;
-import freemarker.template.SimpleHash;
+import freemarker.template.ObjectWrapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.struts2.ServletActionContext;
 import org.apache.struts2.views.freemarker.FreemarkerManager;
+import org.apache.struts2.views.freemarker.ScopesHashModel;
 
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * <p>
  * Freemarker based template engine.
+ * </p>
+ *
+ * <p>
+ * The model built by {@link FreemarkerManager#buildTemplateModel} is built once per request, as long as the tags
+ * are rendered with the same stack, action and object wrapper, and is shared by all these tags. The tag and the
+ * theme properties of each rendered tag are put into a {@link ScopesHashModel} layered on top of it.
+ * </p>
  */
 public class FreemarkerTemplateEngine extends BaseTemplateEngine {
     static Class bodyContent = null;
@@ -63,6 +73,10 @@ public class FreemarkerTemplateEngine extends BaseTemplateEngine {
 
     private static final Logger LOG = LogManager.getLogger(FreemarkerTemplateEngine.class);
 
+    private static final String ATTR_REQUEST_MODEL = FreemarkerTemplateEngine.class.getName() + ".requestModel";
+
+    private final ConcurrentMap<Template, ResolvedTemplate> resolvedTemplates = new ConcurrentHashMap<>();
+
     @Inject
     public void setFreemarkerManager(FreemarkerManager mgr) {
         this.freemarkerManager = mgr;
@@ -79,35 +93,16 @@ public class FreemarkerTemplateEngine extends BaseTemplateEngine {
         // prepare freemarker
         Configuration config = freemarkerManager.getConfiguration(servletContext);
 
-        // get the list of templates we can use
-        List<Template> templates = templateContext.getTemplate().getPossibleTemplates(this);
-
         // find the right template
-        freemarker.template.Template template = null;
-        String templateName = null;
-        Exception exception = null;
-        for (Template t : templates) {
-            templateName = getFinalTemplateName(t);
-                try {
-                    // try to load, and if it works, stop at the first one
-                    template = config.getTemplate(templateName);
-                    break;
-                } catch (ParseException e) {
-                    // template was found but was invalid - always report this.
-                    exception = e;
-                    break;
-                } catch (IOException e) {
-                    // FileNotFoundException is anticipated - report the first IOException if no template found
-                    if (exception == null) {
-                        exception = e;
-                    }
-                }
-        }
+        ResolvedTemplate resolved = resolveTemplate(config, templateContext.getTemplate());
+        freemarker.template.Template template = resolved.template;
+        String templateName = resolved.templateName;
+        Exception exception = resolved.exception;
 
         if (template == null) {
             if (LOG.isErrorEnabled()) {
                 LOG.error("Could not load the FreeMarker template named '{}':", templateContext.getTemplate().getName());
-                for (Template t : templates) {
+                for (Template t : templateContext.getTemplate().getPossibleTemplates(this)) {
                     LOG.error("Attempted: {}", getFinalTemplateName(t));
                 }
                 LOG.error("The TemplateLoader provided by the FreeMarker Configuration was a: {}", config.getTemplateLoader().getClass().getName());
@@ -124,7 +119,7 @@ public class FreemarkerTemplateEngine extends BaseTemplateEngine {
         ActionInvocation ai = ActionContext.getContext().getActionInvocation();
 
         Object action = (ai == null) ? null : ai.getAction();
-        SimpleHash model = freemarkerManager.buildTemplateModel(stack, action, servletContext, req, res, config.getObjectWrapper());
+        ScopesHashModel model = new ScopesHashModel(getRequestModel(stack, action, servletContext, req, res, config.getObjectWrapper()));
 
         model.put("tag", templateContext.getTag());
         model.put("themeProperties", getThemeProps(templateContext.getTemplate()));
@@ -155,7 +150,106 @@ public class FreemarkerTemplateEngine extends BaseTemplateEngine {
         }
     }
 
+    /**
+     * Returns the model shared by all the tags rendered during the request, it is built once and kept as request
+     * attribute as long as the tags are rendered with the same stack, action and object wrapper. A new model
+     * is built as well when a session was created after the model, so the model exposes it.
+     */
+    private ScopesHashModel getRequestModel(ValueStack stack, Object action, ServletContext servletContext,
+                                            HttpServletRequest req, HttpServletResponse res, ObjectWrapper wrapper) {
+        boolean hasSession = req.getSession(false) != null;
+        RequestModel requestModel = (RequestModel) req.getAttribute(ATTR_REQUEST_MODEL);
+        if (requestModel == null || !requestModel.matches(stack, action, wrapper, hasSession)) {
+            ScopesHashModel model = freemarkerManager.buildTemplateModel(stack, action, servletContext, req, res, wrapper);
+            requestModel = new RequestModel(model, stack, action, wrapper, hasSession);
+            req.setAttribute(ATTR_REQUEST_MODEL, requestModel);
+        }
+        return requestModel.model;
+    }
+
+    /**
+     * Finds the first of the possible templates which can be loaded. The result is cached, also when no template
+     * could be found, until FreeMarker would check the templates for updates, so most of the tags are rendered
+     * without walking the parent themes and without the exceptions thrown for each missing template.
+     * Templates which couldn't be parsed aren't cached and are always reported.
+     */
+    private ResolvedTemplate resolveTemplate(Configuration config, Template requested) {
+        long now = System.currentTimeMillis();
+        ResolvedTemplate resolved = resolvedTemplates.get(requested);
+        if (resolved != null && resolved.isValid(config, now)) {
+            return resolved;
+        }
+
+        freemarker.template.Template template = null;
+        String templateName = null;
+        Exception exception = null;
+        for (Template t : requested.getPossibleTemplates(this)) {
+            templateName = getFinalTemplateName(t);
+            try {
+                // try to load, and if it works, stop at the first one
+                template = config.getTemplate(templateName);
+                break;
+            } catch (ParseException e) {
+                // template was found but was invalid - always report this.
+                return new ResolvedTemplate(config, null, templateName, e, now, 0);
+            } catch (IOException e) {
+                // FileNotFoundException is anticipated - report the first IOException if no template found
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+
+        resolved = new ResolvedTemplate(config, template, templateName, template == null ? exception : null,
+                now, config.getTemplateUpdateDelayMilliseconds());
+        resolvedTemplates.put(requested, resolved);
+        return resolved;
+    }
+
     protected String getSuffix() {
         return "ftl";
     }
+
+    private static final class RequestModel {
+        private final ScopesHashModel model;
+        private final ValueStack stack;
+        private final Object action;
+        private final ObjectWrapper wrapper;
+        private final boolean hasSession;
+
+        RequestModel(ScopesHashModel model, ValueStack stack, Object action, ObjectWrapper wrapper, boolean hasSession) {
+            this.model = model;
+            this.stack = stack;
+            this.action = action;
+            this.wrapper = wrapper;
+            this.hasSession = hasSession;
+        }
+
+        boolean matches(ValueStack stack, Object action, ObjectWrapper wrapper, boolean hasSession) {
+            return this.stack == stack && this.action == action && this.wrapper == wrapper && this.hasSession == hasSession;
+        }
+    }
+
+    private static final class ResolvedTemplate {
+        private final Configuration config;
+        private final freemarker.template.Template template;
+        private final String templateName;
+        private final Exception exception;
+        private final long resolvedAt;
+        private final long updateDelay;
+
+        ResolvedTemplate(Configuration config, freemarker.template.Template template, String templateName,
+                         Exception exception, long resolvedAt, long updateDelay) {
+            this.config = config;
+            this.template = template;
+            this.templateName = templateName;
+            this.exception = exception;
+            this.resolvedAt = resolvedAt;
+            this.updateDelay = updateDelay;
+        }
+
+        boolean isValid(Configuration config, long now) {
+            return this.config == config && now - resolvedAt < updateDelay;
+        }
+    }
 }
\ No newline at end of file
@@ -423,7 +423,10 @@ public class DefaultBeanSelectionProvider extends AbstractBeanSelectionProvider
         // 源码解析: 复制Struts的部分配置到XWork配置
         convertIfExist(props, StrutsConstants.STRUTS_LOG_MISSING_PROPERTIES, XWorkConstants.LOG_MISSING_PROPERTIES);
         convertIfExist(props, StrutsConstants.STRUTS_ENABLE_OGNL_EXPRESSION_CACHE, XWorkConstants.ENABLE_OGNL_EXPRESSION_CACHE);
+        convertIfExist(props, StrutsConstants.STRUTS_OGNL_EXPRESSION_CACHE_MAX_SIZE, XWorkConstants.OGNL_EXPRESSION_CACHE_MAX_SIZE);
         convertIfExist(props, StrutsConstants.STRUTS_ENABLE_OGNL_EVAL_EXPRESSION, XWorkConstants.ENABLE_OGNL_EVAL_EXPRESSION);
+        convertIfExist(props, StrutsConstants.STRUTS_ENABLE_OGNL_LOCK_FREE_INVOCATION, XWorkConstants.ENABLE_OGNL_LOCK_FREE_INVOCATION);
+        convertIfExist(props, StrutsConstants.STRUTS_OGNL_EXPRESSION_COMPILATION_THRESHOLD, XWorkConstants.OGNL_EXPRESSION_COMPILATION_THRESHOLD);
         convertIfExist(props, StrutsConstants.STRUTS_ALLOW_STATIC_METHOD_ACCESS, XWorkConstants.ALLOW_STATIC_METHOD_ACCESS);
         convertIfExist(props, StrutsConstants.STRUTS_CONFIGURATION_XML_RELOAD, XWorkConstants.RELOAD_XML_CONFIGURATION);
 
@@ -21,6 +21,7 @@
 package org.apache.struts2.dispatcher;
 
 import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.util.BoundedConcurrentCache;
 import com.opensymphony.xwork2.util.ClassLoaderUtil;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.logging.log4j.LogManager;
@@ -29,13 +30,19 @@ import org.apache.struts2.StrutsConstants;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * <p>
@@ -63,9 +70,26 @@ import java.util.*;
  * careful</b>, however, to expose any packages that may have sensitive information, such as properties file with
  * database access credentials.
  * </p>
+ *
+ * <p>
+ * Resources up to 512KB are kept in memory once found, together with a gzipped variant of text resources and
+ * strong ETags, so they are served without looking them up on the class path again. Resources which weren't
+ * found are not cached. Nothing is cached in devMode, so changed resources are served right away.
+ * </p>
+ *
+ * <p>
+ * A cached resource is served without calling {@link #findResource(String)}, {@link #process(InputStream, String,
+ * HttpServletRequest, HttpServletResponse)} and {@link #copy(InputStream, OutputStream)}, so nothing is cached
+ * when a subclass overrides any of them.
+ * </p>
  */
 public class DefaultStaticContentLoader implements StaticContentLoader {
 
+    private static final int MAX_CACHED_RESOURCES = 1000;
+    private static final int MAX_CACHED_RESOURCE_SIZE = 512 * 1024;
+    private static final long EXPIRES_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     /**
      * Provide a logging instance.
      */
@@ -88,9 +112,29 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
 
     /**
      * Provide a formatted date for setting heading information when caching static content.
+     *
+     * @deprecated not used anymore as the shared calendar is mutable, use {@link #lastModifiedMillis} instead
      */
+    @Deprecated
     protected final Calendar lastModifiedCal = Calendar.getInstance();
 
+    /**
+     * Modification time reported for all static content.
+     */
+    protected final long lastModifiedMillis = lastModifiedCal.getTimeInMillis();
+
+    /**
+     * Store state of StrutsConstants.STRUTS_DEVMODE setting.
+     */
+    protected boolean devMode;
+
+    /**
+     * Resources found so far by the path they were requested with.
+     */
+    protected final BoundedConcurrentCache<String, StaticResource> resourceCache = new BoundedConcurrentCache<>(MAX_CACHED_RESOURCES);
+
+    private final boolean cacheable = !overridesStreamingHooks(getClass());
+
     /**
      * Store state of StrutsConstants.STRUTS_I18N_ENCODING setting.
      */
@@ -120,6 +164,17 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
         this.serveStaticBrowserCache = BooleanUtils.toBoolean(serveStaticBrowserCache);
     }
 
+    /**
+     * Modify state of StrutsConstants.STRUTS_DEVMODE setting.
+     *
+     * @param devMode
+     *            New setting
+     */
+    @Inject(StrutsConstants.STRUTS_DEVMODE)
+    public void setDevMode(String devMode) {
+        this.devMode = BooleanUtils.toBoolean(devMode);
+    }
+
     /**
      * Modify state of StrutsConstants.STRUTS_I18N_ENCODING setting.
      * @param encoding New setting
@@ -181,6 +236,26 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
      */
     public void findStaticResource(String path, HttpServletRequest request, HttpServletResponse response)
             throws IOException {
+        boolean useCache = cacheable && !devMode;
+        StaticResource resource = useCache ? resourceCache.get(path) : null;
+        if (resource != null) {
+            if (resource.content != null) {
+                process(resource, request, response);
+                return;
+            }
+            // too large to be cached, only its location is known
+            InputStream is = null;
+            try {
+                is = resource.url.openStream();
+            } catch (IOException ex) {
+                resourceCache.remove(path);
+            }
+            if (is != null) {
+                process(is, path, request, response);
+                return;
+            }
+        }
+
         String name = cleanupPath(path);
         for (String pathPrefix : pathPrefixes) {
             URL resourceUrl = findResource(buildPath(name, pathPrefix));
@@ -198,7 +273,11 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
 
                 //not inside the try block, as this could throw IOExceptions also
                 if (is != null) {
-                    process(is, path, request, response);
+                    if (useCache) {
+                        cacheAndProcess(resourceUrl, is, path, request, response);
+                    } else {
+                        process(is, path, request, response);
+                    }
                     return;
                 }
             }
@@ -207,23 +286,116 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
         response.sendError(HttpServletResponse.SC_NOT_FOUND);
     }
 
+    /**
+     * Resources served from the cache bypass these methods, so a subclass overriding them has to get every
+     * resource streamed through them
+     */
+    private static boolean overridesStreamingHooks(Class<?> loaderClass) {
+        for (Class<?> type = loaderClass; type != DefaultStaticContentLoader.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("findResource", String.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden here
+            }
+            try {
+                type.getDeclaredMethod("process", InputStream.class, String.class, HttpServletRequest.class, HttpServletResponse.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden here
+            }
+            try {
+                type.getDeclaredMethod("copy", InputStream.class, OutputStream.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden here
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the resource into memory and serves it from there, resources which are too large are streamed and only
+     * their location is cached.
+     */
+    protected void cacheAndProcess(URL resourceUrl, InputStream is, String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int n;
+        try {
+            while (buffer.size() <= MAX_CACHED_RESOURCE_SIZE && -1 != (n = is.read(chunk))) {
+                buffer.write(chunk, 0, n);
+            }
+        } catch (IOException e) {
+            is.close();
+            throw e;
+        }
+
+        if (buffer.size() > MAX_CACHED_RESOURCE_SIZE) {
+            LOG.debug("Static resource [{}] is too large to be cached, only its location is cached", path);
+            resourceCache.putIfAbsent(path, new StaticResource(resourceUrl, null, null));
+            process(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), is), path, request, response);
+            return;
+        }
+        is.close();
+
+        StaticResource resource = new StaticResource(resourceUrl, buffer.toByteArray(), getContentType(path));
+        StaticResource cached = resourceCache.putIfAbsent(path, resource);
+        process(cached != null && cached.content != null ? cached : resource, request, response);
+    }
+
+    /**
+     * Serves a cached resource, gzipped if the client accepts it and responds with SC_NOT_MODIFIED if the client's
+     * ETag or modification date is still valid.
+     */
+    protected void process(StaticResource resource, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = resource.gzippedContent != null && acceptsGzip(request);
+        String etag = gzip ? resource.gzippedETag : resource.etag;
+        long now = System.currentTimeMillis();
+        long expires = now + EXPIRES_MILLIS;
+
+        if (resource.gzippedContent != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        boolean notModified = ifNoneMatch != null ? matchesETag(ifNoneMatch, etag) : isNotModifiedSince(request);
+        if (notModified) {
+            // not modified, content is not sent - only basic
+            // headers and status SC_NOT_MODIFIED
+            response.setDateHeader("Expires", expires);
+            if (serveStaticBrowserCache) {
+                response.setHeader("ETag", etag);
+            }
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (resource.contentType != null) {
+            response.setContentType(resource.contentType);
+        }
+        setCacheHeaders(response, now, expires);
+        if (serveStaticBrowserCache) {
+            response.setHeader("ETag", etag);
+        }
+
+        byte[] content = gzip ? resource.gzippedContent : resource.content;
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentLength(content.length);
+        OutputStream output = response.getOutputStream();
+        output.write(content);
+        output.flush();
+    }
+
     protected void process(InputStream is, String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
         if (is != null) {
-            Calendar cal = Calendar.getInstance();
+            long now = System.currentTimeMillis();
+            long expires = now + EXPIRES_MILLIS;
 
             // check for if-modified-since, prior to any other headers
-            long ifModifiedSince = 0;
-            try {
-                ifModifiedSince = request.getDateHeader("If-Modified-Since");
-            } catch (Exception e) {
-                LOG.warn("Invalid If-Modified-Since header value: '{}', ignoring", request.getHeader("If-Modified-Since"));
-            }
-            long lastModifiedMillis = lastModifiedCal.getTimeInMillis();
-            long now = cal.getTimeInMillis();
-            cal.add(Calendar.DAY_OF_MONTH, 1);
-            long expires = cal.getTimeInMillis();
-
-            if (ifModifiedSince > 0 && ifModifiedSince <= lastModifiedMillis) {
+            if (isNotModifiedSince(request)) {
                 // not modified, content is not sent - only basic
                 // headers and status SC_NOT_MODIFIED
                 response.setDateHeader("Expires", expires);
@@ -238,18 +410,7 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
                 response.setContentType(contentType);
             }
 
-            if (serveStaticBrowserCache) {
-                // set heading information for caching static content
-                response.setDateHeader("Date", now);
-                response.setDateHeader("Expires", expires);
-                response.setDateHeader("Retry-After", expires);
-                response.setHeader("Cache-Control", "public");
-                response.setDateHeader("Last-Modified", lastModifiedMillis);
-            } else {
-                response.setHeader("Cache-Control", "no-cache");
-                response.setHeader("Pragma", "no-cache");
-                response.setHeader("Expires", "-1");
-            }
+            setCacheHeaders(response, now, expires);
 
             try {
                 copy(is, response.getOutputStream());
@@ -259,6 +420,69 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
         }
     }
 
+    private boolean isNotModifiedSince(HttpServletRequest request) {
+        long ifModifiedSince = 0;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (Exception e) {
+            LOG.warn("Invalid If-Modified-Since header value: '{}', ignoring", request.getHeader("If-Modified-Since"));
+        }
+        return ifModifiedSince > 0 && ifModifiedSince <= lastModifiedMillis;
+    }
+
+    private void setCacheHeaders(HttpServletResponse response, long now, long expires) {
+        if (serveStaticBrowserCache) {
+            // set heading information for caching static content
+            response.setDateHeader("Date", now);
+            response.setDateHeader("Expires", expires);
+            response.setDateHeader("Retry-After", expires);
+            response.setHeader("Cache-Control", "public");
+            response.setDateHeader("Last-Modified", lastModifiedMillis);
+        } else {
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader("Pragma", "no-cache");
+            response.setHeader("Expires", "-1");
+        }
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                // If-None-Match uses the weak comparison
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || etag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Float.parseFloat(param.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Look for a static resource in the classpath.
      *
@@ -348,4 +572,60 @@ public class DefaultStaticContentLoader implements StaticContentLoader {
         //path will start with "/struts" or "/static", remove them
         return path.substring(7);
     }
+
+    /**
+     * Static resource as cached by the loader. Without content it's too large to be kept in memory and only its url
+     * is known.
+     */
+    protected static class StaticResource {
+        protected final URL url;
+        protected final byte[] content;
+        protected final byte[] gzippedContent;
+        protected final String contentType;
+        protected final String etag;
+        protected final String gzippedETag;
+
+        protected StaticResource(URL url, byte[] content, String contentType) throws IOException {
+            this.url = url;
+            this.content = content;
+            this.contentType = contentType;
+            if (content == null) {
+                this.gzippedContent = null;
+                this.etag = null;
+                this.gzippedETag = null;
+                return;
+            }
+
+            String digest = digest(content);
+            this.etag = "\"" + digest + "\"";
+            this.gzippedETag = "\"" + digest + "-gzip\"";
+
+            byte[] gzipped = null;
+            if (contentType != null && contentType.startsWith("text/")) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                    gzip.write(content);
+                }
+                if (buffer.size() < content.length) {
+                    gzipped = buffer.toByteArray();
+                }
+            }
+            this.gzippedContent = gzipped;
+        }
+
+        private static String digest(byte[] content) {
+            try {
+                byte[] hash = MessageDigest.getInstance("MD5").digest(content);
+                char[] hex = new char[hash.length * 2];
+                for (int i = 0; i < hash.length; i++) {
+                    hex[i * 2] = HEX[(hash[i] >> 4) & 0xf];
+                    hex[i * 2 + 1] = HEX[hash[i] & 0xf];
+                }
+                return new String(hex);
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform has to support MD5
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
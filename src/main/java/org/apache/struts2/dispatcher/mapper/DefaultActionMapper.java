@@ -25,6 +25,8 @@ import com.opensymphony.xwork2.ActionContext;
 import com.opensymphony.xwork2.config.Configuration;
 import com.opensymphony.xwork2.config.ConfigurationManager;
 import com.opensymphony.xwork2.config.entities.PackageConfig;
+import com.opensymphony.xwork2.config.impl.DefaultConfiguration;
+import com.opensymphony.xwork2.config.impl.NamespaceIndex;
 import com.opensymphony.xwork2.inject.Container;
 import com.opensymphony.xwork2.inject.Inject;
 import org.apache.commons.lang3.BooleanUtils;
@@ -344,18 +346,29 @@ public class DefaultActionMapper implements ActionMapper {
             // Try to find the namespace in those defined, defaulting to ""
             Configuration config = configManager.getConfiguration();
             String prefix = uri.substring(0, lastSlash);
-            namespace = "";
-            boolean rootAvailable = false;
             // Find the longest matching namespace, defaulting to the default
-            for (PackageConfig cfg : config.getPackageConfigs().values()) {
-                String ns = cfg.getNamespace();
-                if (ns != null && prefix.startsWith(ns) && (prefix.length() == ns.length() || prefix.charAt(ns.length()) == '/')) {
-                    if (ns.length() > namespace.length()) {
-                        namespace = ns;
+            NamespaceIndex namespaceIndex = null;
+            if (config instanceof DefaultConfiguration) {
+                namespaceIndex = ((DefaultConfiguration) config).getNamespaceIndex();
+            }
+            boolean rootAvailable;
+            if (namespaceIndex != null) {
+                namespace = namespaceIndex.findLongestNamespace(prefix);
+                rootAvailable = namespaceIndex.containsNamespace("/");
+            } else {
+                // no index or packages changed since it was built, scan the packages
+                namespace = "";
+                rootAvailable = false;
+                for (PackageConfig cfg : config.getPackageConfigs().values()) {
+                    String ns = cfg.getNamespace();
+                    if (ns != null && prefix.startsWith(ns) && (prefix.length() == ns.length() || prefix.charAt(ns.length()) == '/')) {
+                        if (ns.length() > namespace.length()) {
+                            namespace = ns;
+                        }
+                    }
+                    if ("/".equals(ns)) {
+                        rootAvailable = true;
                     }
-                }
-                if ("/".equals(ns)) {
-                    rootAvailable = true;
                 }
             }
 
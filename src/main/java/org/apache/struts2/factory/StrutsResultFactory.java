@@ -3,6 +3,8 @@ package org.apache.struts2.factory;
 import com.opensymphony.xwork2.ObjectFactory;
 import com.opensymphony.xwork2.Result;
 import com.opensymphony.xwork2.config.entities.ResultConfig;
+import com.opensymphony.xwork2.config.entities.ResultPropertySetters;
+import com.opensymphony.xwork2.config.entities.ResultPropertySetters.PropertySetter;
 import com.opensymphony.xwork2.factory.ResultFactory;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.util.reflection.ReflectionException;
@@ -10,16 +12,27 @@ import com.opensymphony.xwork2.util.reflection.ReflectionExceptionHandler;
 import com.opensymphony.xwork2.util.reflection.ReflectionProvider;
 import com.opensymphony.xwork2.result.ParamNameAwareResult;
 
+import java.beans.IntrospectionException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Map;
 
 /**
- * Default implementation which uses {@link com.opensymphony.xwork2.result.ParamNameAwareResult} to accept or throwaway parameters
+ * Default implementation which uses {@link com.opensymphony.xwork2.result.ParamNameAwareResult} to accept or throwaway parameters.
+ *
+ * Setters of simple String parameters are resolved once per result config and result class and then called directly,
+ * all other parameters are set via {@link ReflectionProvider}. Subclasses overriding
+ * {@link #setParameters(Map, Result, Map)} or {@link #setParameter(Result, String, String, Map)} keep getting
+ * all parameters through these methods.
  */
 public class StrutsResultFactory implements ResultFactory {
 
     protected ObjectFactory objectFactory;
     protected ReflectionProvider reflectionProvider;
 
+    private final boolean useResolvedSetters = !overridesParameterHooks(getClass());
+
     @Inject
     public void setObjectFactory(ObjectFactory objectFactory) {
         this.objectFactory = objectFactory;
@@ -37,8 +50,13 @@ public class StrutsResultFactory implements ResultFactory {
         if (resultClassName != null) {
             result = (Result) objectFactory.buildBean(resultClassName, extraContext);
             Map<String, String> params = resultConfig.getParams();
-            if (params != null) {
-                setParameters(extraContext, result, params);
+            if (params != null && !params.isEmpty()) {
+                if (useResolvedSetters) {
+                    PropertySetter[] setters = findPropertySetters(resultConfig, result.getClass(), params);
+                    setParameters(extraContext, result, setters);
+                } else {
+                    setParameters(extraContext, result, params);
+                }
             }
         }
         return result;
@@ -58,6 +76,103 @@ public class StrutsResultFactory implements ResultFactory {
         }
     }
 
+    protected void setParameters(Map<String, Object> extraContext, Result result, PropertySetter[] setters) {
+        for (PropertySetter setter : setters) {
+            try {
+                setParameter(result, setter, extraContext);
+            } catch (ReflectionException ex) {
+                if (result instanceof ReflectionExceptionHandler) {
+                    ((ReflectionExceptionHandler) result).handle(ex);
+                }
+            }
+        }
+    }
+
+    protected void setParameter(Result result, PropertySetter setter, Map<String, Object> extraContext) {
+        Method method = setter.getMethod();
+        if (method == null) {
+            setParameter(result, setter.getName(), setter.getValue(), extraContext);
+            return;
+        }
+        if (result instanceof ParamNameAwareResult) {
+            if (!((ParamNameAwareResult) result).acceptableParameterName(setter.getName(), setter.getValue())) {
+                return;
+            }
+        }
+        try {
+            method.invoke(result, setter.getValue());
+        } catch (InvocationTargetException e) {
+            throw new ReflectionException("Error setting property [" + setter.getName() + "] of result " + result, e.getTargetException(), result);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Error setting property [" + setter.getName() + "] of result " + result, e, result);
+        }
+    }
+
+    /**
+     * Returns setters for all the params of the result config, resolving them on the first call for the given result class
+     */
+    protected PropertySetter[] findPropertySetters(ResultConfig resultConfig, Class<?> resultClass, Map<String, String> params) {
+        ResultPropertySetters propertySetters = resultConfig.getPropertySetters();
+        PropertySetter[] setters = propertySetters.get(resultClass);
+        if (setters == null) {
+            setters = new PropertySetter[params.size()];
+            int i = 0;
+            for (Map.Entry<String, String> paramEntry : params.entrySet()) {
+                String name = paramEntry.getKey();
+                setters[i++] = new PropertySetter(name, paramEntry.getValue(), findSetMethod(resultClass, name));
+            }
+            propertySetters.put(resultClass, setters);
+        }
+        return setters;
+    }
+
+    /**
+     * Returns a public setter taking a String which can be called directly or null if the param must be set
+     * via {@link ReflectionProvider}, e.g. when it needs a type conversion or is a nested property
+     */
+    protected Method findSetMethod(Class<?> resultClass, String name) {
+        if (name == null || name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return null;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            Method method = reflectionProvider.getSetMethod(resultClass, name);
+            if (method != null
+                    && Modifier.isPublic(method.getModifiers())
+                    && !Modifier.isStatic(method.getModifiers())
+                    && Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                    && method.getParameterTypes().length == 1
+                    && method.getParameterTypes()[0] == String.class) {
+                return method;
+            }
+        } catch (IntrospectionException | ReflectionException e) {
+            // falls back to the reflection provider which reports the problem
+        }
+        return null;
+    }
+
+    private static boolean overridesParameterHooks(Class<?> factoryClass) {
+        for (Class<?> type = factoryClass; type != StrutsResultFactory.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("setParameters", Map.class, Result.class, Map.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden here
+            }
+            try {
+                type.getDeclaredMethod("setParameter", Result.class, String.class, String.class, Map.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden here
+            }
+        }
+        return false;
+    }
+
     protected void setParameter(Result result, String name, String value, Map<String, Object> extraContext) {
         if (result instanceof ParamNameAwareResult) {
             if (((ParamNameAwareResult) result).acceptableParameterName(name, value)) {
@@ -26,9 +26,19 @@ import com.opensymphony.xwork2.util.ValueStack;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * <!-- START SNIPPET: description -->
@@ -55,7 +65,12 @@ import java.io.OutputStream;
  * <i>attachment;filename="document.pdf"</i>.</li>
  *
  * <li><b>inputName</b> - the name of the InputStream property from the chained
- * action (default = <code>inputStream</code>).</li>
+ * action (default = <code>inputStream</code>). The property can also be a
+ * <code>java.nio.file.Path</code>, a <code>java.io.File</code> or a
+ * <code>java.nio.channels.FileChannel</code>, then the file is served with its
+ * actual length, single byte ranges requested with the <code>Range</code> and
+ * <code>If-Range</code> headers are supported and the container's sendfile
+ * support is used when available. The file channel is closed afterwards.</li>
  *
  * <li><b>bufferSize</b> - the size of the buffer to copy from input to output
  * (default = <code>1024</code>).</li>
@@ -104,6 +119,14 @@ public class StreamResult extends StrutsResultSupport {
     protected int bufferSize = 1024;
     protected boolean allowCaching = true;
 
+    /** Minimal size of the buffer used to copy files when they can't be transferred directly. */
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     public StreamResult() {
         super();
     }
@@ -224,12 +247,19 @@ public class StreamResult extends StrutsResultSupport {
 
         // Find the Response in context
         HttpServletResponse oResponse = (HttpServletResponse) invocation.getInvocationContext().get(HTTP_RESPONSE);
-        try (OutputStream oOutput = oResponse.getOutputStream()) {
-            if (inputStream == null) {
-                // Find the inputstream from the invocation variable stack
-                inputStream = (InputStream) invocation.getStack().findValue(conditionalParse(inputName, invocation));
+
+        if (inputStream == null) {
+            // Find the inputstream or file from the invocation variable stack
+            Object input = invocation.getStack().findValue(conditionalParse(inputName, invocation));
+            if (input instanceof Path || input instanceof File || input instanceof FileChannel) {
+                HttpServletRequest oRequest = (HttpServletRequest) invocation.getInvocationContext().get(HTTP_REQUEST);
+                doExecuteFile(input, oRequest, oResponse, invocation);
+                return;
             }
+            inputStream = (InputStream) input;
+        }
 
+        try (OutputStream oOutput = oResponse.getOutputStream()) {
             if (inputStream == null) {
                 String msg = ("Can not find a java.io.InputStream with the name [" + inputName + "] in the invocation stack. " +
                     "Check the <param name=\"inputName\"> tag specified for this action.");
@@ -238,12 +268,7 @@ public class StreamResult extends StrutsResultSupport {
             }
 
             // Set the content type
-            if (contentCharSet != null && ! contentCharSet.equals("")) {
-                oResponse.setContentType(conditionalParse(contentType, invocation)+";charset="+contentCharSet);
-            }
-            else {
-                oResponse.setContentType(conditionalParse(contentType, invocation));
-            }
+            setContentType(oResponse, invocation);
 
             // Set the content length
             if (contentLength != null) {
@@ -260,16 +285,8 @@ public class StreamResult extends StrutsResultSupport {
                 }
             }
 
-            // Set the content-disposition
-            if (contentDisposition != null) {
-                oResponse.addHeader("Content-Disposition", conditionalParse(contentDisposition, invocation));
-            }
-
-            // Set the cache control headers if neccessary
-            if (!allowCaching) {
-                oResponse.addHeader("Pragma", "no-cache");
-                oResponse.addHeader("Cache-Control", "no-cache");
-            }
+            // Set the content-disposition and cache control headers
+            setContentHeaders(oResponse, invocation);
 
             LOG.debug("Streaming result [{}] type=[{}] length=[{}] content-disposition=[{}] charset=[{}]",
                     inputName, contentType, contentLength, contentDisposition, contentCharSet);
@@ -289,6 +306,194 @@ public class StreamResult extends StrutsResultSupport {
         }
     }
 
+    /**
+     * Serves a file, given as Path, File or FileChannel, with its actual length. A single byte range requested with
+     * the Range header is served as partial content, unless the If-Range header doesn't match the modification time.
+     * Files on the default file system are handed over to the container when it supports Tomcat's sendfile
+     * attributes, otherwise the file channel is transferred to the output.
+     *
+     * @param input the Path, File or FileChannel to serve, the channel is closed afterwards
+     * @param request the current request
+     * @param response the current response
+     * @param invocation the action invocation
+     * @throws IOException if the file can't be read or written to the response
+     */
+    protected void doExecuteFile(Object input, HttpServletRequest request, HttpServletResponse response, ActionInvocation invocation) throws IOException {
+        Path path = null;
+        if (input instanceof File) {
+            path = ((File) input).toPath();
+        } else if (input instanceof Path) {
+            path = (Path) input;
+        }
+
+        try (FileChannel channel = path != null ? FileChannel.open(path, StandardOpenOption.READ) : (FileChannel) input) {
+            long size = channel.size();
+            long lastModified = path != null ? Files.getLastModifiedTime(path).toMillis() : -1;
+
+            setContentType(response, invocation);
+            setContentHeaders(response, invocation);
+            response.setHeader("Accept-Ranges", "bytes");
+            if (lastModified >= 0) {
+                response.setDateHeader("Last-Modified", lastModified);
+            }
+
+            long start = 0;
+            long end = size - 1;
+            String range = request.getHeader("Range");
+            if (range != null && isRangeApplicable(request, lastModified)) {
+                long[] bounds = parseRange(range, size);
+                if (bounds != null && bounds.length == 0) {
+                    LOG.debug("Requested range [{}] not satisfiable for [{}] bytes", range, size);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader("Content-Range", "bytes */" + size);
+                    response.setContentLength(0);
+                    return;
+                }
+                if (bounds != null) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+            long length = end - start + 1;
+            response.setHeader("Content-Length", String.valueOf(length));
+
+            LOG.debug("Streaming file [{}] type=[{}] range=[{}-{}] size=[{}] content-disposition=[{}]",
+                    inputName, contentType, start, end, size, contentDisposition);
+
+            if (path != null && path.getFileSystem() == FileSystems.getDefault()
+                    && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // the container writes the file itself once the action returns
+                request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, start + length);
+                return;
+            }
+
+            try (OutputStream oOutput = response.getOutputStream()) {
+                transferFile(channel, start, length, oOutput);
+                oOutput.flush();
+            }
+        }
+    }
+
+    /**
+     * Transfers the channel directly when the output is a channel itself, otherwise copies it through a buffer of
+     * at least 64KB, which is a heap buffer because the output stream needs an array anyway.
+     */
+    protected void transferFile(FileChannel channel, long position, long count, OutputStream output) throws IOException {
+        if (output instanceof WritableByteChannel) {
+            WritableByteChannel target = (WritableByteChannel) output;
+            long transferred;
+            while (count > 0 && (transferred = channel.transferTo(position, count, target)) > 0) {
+                position += transferred;
+                count -= transferred;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(bufferSize, FILE_BUFFER_SIZE));
+        while (count > 0) {
+            buffer.clear();
+            if (count < buffer.capacity()) {
+                buffer.limit((int) count);
+            }
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                LOG.warn("File [{}] ended {} bytes before the expected length", inputName, count);
+                break;
+            }
+            output.write(buffer.array(), 0, read);
+            position += read;
+            count -= read;
+        }
+    }
+
+    /**
+     * A range is applicable unless the If-Range header holds an entity tag or a date other than the modification time.
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, long lastModified) {
+        if (request.getHeader("If-Range") == null) {
+            return true;
+        }
+        try {
+            long ifRange = request.getDateHeader("If-Range");
+            return lastModified >= 0 && ifRange / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            // an entity tag, there are none for files
+            return false;
+        }
+    }
+
+    /**
+     * Parses a single byte range, multiple ranges are served as the whole file.
+     *
+     * @return the first and last byte of the range, an empty array if the range can't be satisfied,
+     * or null if the header is invalid and should be ignored
+     */
+    private long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end = size - 1;
+            if (dash == 0) {
+                long suffixLength = Long.parseLong(spec.substring(1).trim());
+                if (suffixLength < 0) {
+                    return null;
+                }
+                if (suffixLength == 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, size - suffixLength);
+            } else {
+                start = Long.parseLong(spec.substring(0, dash).trim());
+                String last = spec.substring(dash + 1).trim();
+                if (!last.isEmpty()) {
+                    long lastByte = Long.parseLong(last);
+                    if (lastByte < start) {
+                        return null;
+                    }
+                    end = Math.min(lastByte, end);
+                }
+            }
+            if (start >= size) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void setContentType(HttpServletResponse response, ActionInvocation invocation) {
+        if (contentCharSet != null && ! contentCharSet.equals("")) {
+            response.setContentType(conditionalParse(contentType, invocation)+";charset="+contentCharSet);
+        }
+        else {
+            response.setContentType(conditionalParse(contentType, invocation));
+        }
+    }
+
+    private void setContentHeaders(HttpServletResponse response, ActionInvocation invocation) {
+        // Set the content-disposition
+        if (contentDisposition != null) {
+            response.addHeader("Content-Disposition", conditionalParse(contentDisposition, invocation));
+        }
+
+        // Set the cache control headers if neccessary
+        if (!allowCaching) {
+            response.addHeader("Pragma", "no-cache");
+            response.addHeader("Cache-Control", "no-cache");
+        }
+    }
+
     /**
      * Tries to lookup the parameters on the stack.  Will override any existing parameters
      *
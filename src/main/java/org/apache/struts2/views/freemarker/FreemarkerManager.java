@@ -501,7 +501,17 @@ public class FreemarkerManager {
     }
 
 
-
+    /**
+     * Builds the model of a template rendered for the given stack and action.
+     * <p>
+     * The {@link org.apache.struts2.components.template.FreemarkerTemplateEngine} calls it only once per request
+     * for the same stack, action and object wrapper, and shares the returned model between all UI tags rendered
+     * during the request. Each tag renders with its own values layered on top of it, so an override must not put
+     * values depending on a single tag into the model and must not change the model after it was returned.
+     * </p>
+     *
+     * @return the model, also stored as request attribute {@link #ATTR_TEMPLATE_MODEL}
+     */
     public ScopesHashModel buildTemplateModel(ValueStack stack, Object action, ServletContext servletContext, HttpServletRequest request, HttpServletResponse response, ObjectWrapper wrapper) {
         ScopesHashModel model = buildScopesHashModel(servletContext, request, response, wrapper, stack);
         populateContext(model, stack, action, request, response);
@@ -23,7 +23,9 @@ package org.apache.struts2.views.freemarker;
 
 import com.opensymphony.xwork2.util.ValueStack;
 import freemarker.template.ObjectWrapper;
+import freemarker.template.SimpleCollection;
 import freemarker.template.SimpleHash;
+import freemarker.template.TemplateCollectionModel;
 import freemarker.template.TemplateModel;
 import freemarker.template.TemplateModelException;
 
@@ -58,6 +60,7 @@ public class ScopesHashModel extends SimpleHash implements TemplateModel {
     private ValueStack stack;
     private final Map<String, TemplateModel> unlistedModels = new HashMap<>();
     private volatile Object parametersCache;
+    private ScopesHashModel requestModel;
 
     public ScopesHashModel(ObjectWrapper objectWrapper, ServletContext context, HttpServletRequest request, ValueStack stack) {
         super(objectWrapper);
@@ -73,6 +76,22 @@ public class ScopesHashModel extends SimpleHash implements TemplateModel {
          this.request = request;
     }
 
+    /**
+     * Creates a model layered on top of a model built once for the whole request. Values put into this model
+     * hide the ones of the request model, which is never modified, so a new layer can be created cheaply for
+     * each rendered template. Listing the model, e.g. by <tt>keys()</tt> or <tt>toMap()</tt>, lists the values
+     * of both models.
+     *
+     * @param requestModel the model holding the values shared by all templates rendered with the same stack
+     */
+    public ScopesHashModel(ScopesHashModel requestModel) {
+        super(requestModel.getObjectWrapper());
+        this.servletContext = requestModel.servletContext;
+        this.request = requestModel.request;
+        this.stack = requestModel.stack;
+        this.requestModel = requestModel;
+    }
+
     /**
      * Stores a model in the hash so that it doesn't show up in <tt>keys()</tt>
      * and <tt>values()</tt> methods. Used to put the Application, Session,
@@ -92,6 +111,12 @@ public class ScopesHashModel extends SimpleHash implements TemplateModel {
             return model;
         }
 
+        if (requestModel != null) {
+            model = requestModel.getFromDefaultScope(key);
+            if (model != null) {
+                return model;
+            }
+        }
 
         if (stack != null) {
             Object obj = findValueOnStack(key);
@@ -138,6 +163,9 @@ public class ScopesHashModel extends SimpleHash implements TemplateModel {
 
         // Look in unlisted models
         model = unlistedModels.get(key);
+        if (model == null && requestModel != null) {
+            model = requestModel.unlistedModels.get(key);
+        }
         if(model != null) {
             return wrap(model);
         }
@@ -146,6 +174,69 @@ public class ScopesHashModel extends SimpleHash implements TemplateModel {
         return null;
     }
 
+    private TemplateModel getFromDefaultScope(String key) throws TemplateModelException {
+        return super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return super.containsKey(key) || (requestModel != null && requestModel.containsKey(key));
+    }
+
+    @Override
+    public int size() {
+        if (requestModel == null) {
+            return super.size();
+        }
+        try {
+            return toMap().size();
+        } catch (TemplateModelException e) {
+            return super.size() + requestModel.size();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return super.isEmpty() && (requestModel == null || requestModel.isEmpty());
+    }
+
+    @Override
+    public TemplateCollectionModel keys() {
+        if (requestModel == null) {
+            return super.keys();
+        }
+        try {
+            return new SimpleCollection(toMap().keySet(), getObjectWrapper());
+        } catch (TemplateModelException e) {
+            return super.keys();
+        }
+    }
+
+    @Override
+    public TemplateCollectionModel values() {
+        if (requestModel == null) {
+            return super.values();
+        }
+        try {
+            return new SimpleCollection(toMap().values(), getObjectWrapper());
+        } catch (TemplateModelException e) {
+            return super.values();
+        }
+    }
+
+    /**
+     * @return the values of this model merged with the ones of the request model it is layered on
+     */
+    @Override
+    public Map toMap() throws TemplateModelException {
+        if (requestModel == null) {
+            return super.toMap();
+        }
+        Map merged = new HashMap(requestModel.toMap());
+        merged.putAll(super.toMap());
+        return merged;
+    }
+
     private Object findValueOnStack(final String key) {
         if ("parameters".equals(key)) {
             if (parametersCache != null) {
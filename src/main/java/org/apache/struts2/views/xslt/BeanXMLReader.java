@@ -0,0 +1,321 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.views.xslt;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.struts2.StrutsException;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * XMLReader which streams a Java object as SAX events, producing the same XML as the DOM adapters created by
+ * the {@link AdapterFactory}. Instead of building proxy nodes the transformer walks lazily, the whole object
+ * graph is written at once, so large results don't leave a tree of adapters behind.
+ * </p>
+ *
+ * <p>
+ * Values with an adapter registered in the factory and values which already are DOM nodes are still adapted
+ * by the factory and their nodes are replayed as SAX events. An object which is already being written by one
+ * of the enclosing elements is written as an empty element, so cyclic object graphs don't recurse forever.
+ * </p>
+ */
+public class BeanXMLReader implements XMLReader {
+
+    private static final Logger LOG = LogManager.getLogger(BeanXMLReader.class);
+
+    private static final Object[] NULLPARAMS = new Object[0];
+    private static final AttributesImpl NO_ATTRIBUTES = new AttributesImpl();
+    private static final ConcurrentMap<Class, BeanProperty[]> beanPropertyCache = new ConcurrentHashMap<>();
+
+    private final AdapterFactory adapterFactory;
+    private final String rootName;
+    private final Object rootValue;
+    private final Map<String, Boolean> features = new HashMap<>();
+    private final Map<String, Object> properties = new HashMap<>();
+    private final Map<Object, Object> written = new IdentityHashMap<>();
+
+    private ContentHandler contentHandler;
+    private DTDHandler dtdHandler;
+    private EntityResolver entityResolver;
+    private ErrorHandler errorHandler;
+
+    public BeanXMLReader(AdapterFactory adapterFactory, String rootName, Object rootValue) {
+        this.adapterFactory = adapterFactory;
+        this.rootName = rootName;
+        this.rootValue = rootValue;
+    }
+
+    public void parse(InputSource input) throws SAXException {
+        if (contentHandler == null) {
+            throw new SAXException("No ContentHandler set");
+        }
+        written.clear();
+        contentHandler.startDocument();
+        writeValue(rootName, rootValue);
+        contentHandler.endDocument();
+    }
+
+    public void parse(String systemId) throws SAXException {
+        parse(new InputSource(systemId));
+    }
+
+    protected void writeValue(String name, Object value) throws SAXException {
+        if (value == null) {
+            writeText(name, "null");
+            return;
+        }
+
+        if (adapterFactory.getAdapterForValue(value) != null || value instanceof Node) {
+            writeNode(adapterFactory.adaptNode(null, name, value));
+            return;
+        }
+
+        Class valueType = value.getClass();
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            writeText(name, value.toString());
+            return;
+        }
+
+        if (written.put(value, value) != null) {
+            LOG.debug("Skipping already written value of: {}", name);
+            startElement(name, NO_ATTRIBUTES);
+            endElement(name);
+            return;
+        }
+        try {
+            startElement(name, NO_ATTRIBUTES);
+            if (valueType.isArray()) {
+                for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                    writeValue("item", Array.get(value, i));
+                }
+            } else if (value instanceof Collection) {
+                for (Object item : (Collection) value) {
+                    writeValue("item", item);
+                }
+            } else if (value instanceof Map) {
+                for (Object o : ((Map) value).entrySet()) {
+                    Map.Entry entry = (Map.Entry) o;
+                    startElement("entry", NO_ATTRIBUTES);
+                    writeValue("key", entry.getKey());
+                    writeValue("value", entry.getValue());
+                    endElement("entry");
+                }
+            } else {
+                writeBean(value);
+            }
+            endElement(name);
+        } finally {
+            written.remove(value);
+        }
+    }
+
+    protected void writeBean(Object bean) throws SAXException {
+        BeanProperty[] beanProperties = getBeanProperties(bean.getClass());
+        if (beanProperties.length == 0) {
+            LOG.info("Class {} has no readable properties", bean.getClass().getName());
+        }
+        for (BeanProperty property : beanProperties) {
+            Object propertyValue;
+            try {
+                propertyValue = property.readMethod.invoke(bean, NULLPARAMS);
+            } catch (Exception e) {
+                if (e instanceof InvocationTargetException) {
+                    e = (Exception) ((InvocationTargetException) e).getTargetException();
+                }
+                LOG.error("Cannot access bean property: {}", property.name, e);
+                continue;
+            }
+            writeValue(property.name, propertyValue);
+        }
+    }
+
+    /**
+     * Replays a DOM node, as created by the adapter factory, as SAX events
+     */
+    protected void writeNode(Node node) throws SAXException {
+        if (node instanceof Document) {
+            node = ((Document) node).getDocumentElement();
+        }
+        if (node == null) {
+            return;
+        }
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                String name = node.getNodeName();
+                startElement(name, getAttributes(node));
+                NodeList children = node.getChildNodes();
+                if (children != null) {
+                    for (int i = 0, length = children.getLength(); i < length; i++) {
+                        writeNode(children.item(i));
+                    }
+                }
+                endElement(name);
+                break;
+            case Node.TEXT_NODE:
+            case Node.CDATA_SECTION_NODE:
+                writeCharacters(node.getNodeValue());
+                break;
+            default:
+                // other node types aren't supported by the adapters either
+        }
+    }
+
+    private AttributesImpl getAttributes(Node node) {
+        NamedNodeMap nodeAttributes = node.getAttributes();
+        if (nodeAttributes == null || nodeAttributes.getLength() == 0) {
+            return NO_ATTRIBUTES;
+        }
+        AttributesImpl attributes = new AttributesImpl();
+        for (int i = 0; i < nodeAttributes.getLength(); i++) {
+            Node attribute = nodeAttributes.item(i);
+            attributes.addAttribute("", attribute.getNodeName(), attribute.getNodeName(), "CDATA", attribute.getNodeValue());
+        }
+        return attributes;
+    }
+
+    private void writeText(String name, String text) throws SAXException {
+        startElement(name, NO_ATTRIBUTES);
+        writeCharacters(text);
+        endElement(name);
+    }
+
+    private void writeCharacters(String text) throws SAXException {
+        if (text != null && text.length() > 0) {
+            contentHandler.characters(text.toCharArray(), 0, text.length());
+        }
+    }
+
+    private void startElement(String name, AttributesImpl attributes) throws SAXException {
+        contentHandler.startElement("", name, name, attributes);
+    }
+
+    private void endElement(String name) throws SAXException {
+        contentHandler.endElement("", name, name);
+    }
+
+    private static BeanProperty[] getBeanProperties(Class type) {
+        BeanProperty[] beanProperties = beanPropertyCache.get(type);
+        if (beanProperties == null) {
+            try {
+                PropertyDescriptor[] descriptors = Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors();
+                List<BeanProperty> readable = new ArrayList<>(descriptors.length);
+                for (PropertyDescriptor descriptor : descriptors) {
+                    Method readMethod = descriptor.getReadMethod();
+                    if (readMethod != null) {
+                        readable.add(new BeanProperty(descriptor.getName(), readMethod));
+                    }
+                }
+                beanProperties = readable.toArray(new BeanProperty[readable.size()]);
+            } catch (IntrospectionException e) {
+                throw new StrutsException("Error getting property descriptors for " + type.getName() + " : " + e.getMessage(), e);
+            }
+            beanPropertyCache.putIfAbsent(type, beanProperties);
+        }
+        return beanProperties;
+    }
+
+    public boolean getFeature(String name) {
+        Boolean value = features.get(name);
+        return value != null && value;
+    }
+
+    public void setFeature(String name, boolean value) {
+        features.put(name, value);
+    }
+
+    public Object getProperty(String name) {
+        return properties.get(name);
+    }
+
+    public void setProperty(String name, Object value) {
+        properties.put(name, value);
+    }
+
+    public void setEntityResolver(EntityResolver resolver) {
+        this.entityResolver = resolver;
+    }
+
+    public EntityResolver getEntityResolver() {
+        return entityResolver;
+    }
+
+    public void setDTDHandler(DTDHandler handler) {
+        this.dtdHandler = handler;
+    }
+
+    public DTDHandler getDTDHandler() {
+        return dtdHandler;
+    }
+
+    public void setContentHandler(ContentHandler handler) {
+        this.contentHandler = handler;
+    }
+
+    public ContentHandler getContentHandler() {
+        return contentHandler;
+    }
+
+    public void setErrorHandler(ErrorHandler handler) {
+        this.errorHandler = handler;
+    }
+
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    private static final class BeanProperty {
+        private final String name;
+        private final Method readMethod;
+
+        BeanProperty(String name, Method readMethod) {
+            this.name = name;
+            this.readMethod = readMethod;
+        }
+    }
+}
@@ -33,17 +33,24 @@ import org.apache.logging.log4j.Logger;
 import org.apache.struts2.ServletActionContext;
 import org.apache.struts2.StrutsConstants;
 import org.apache.struts2.StrutsException;
+import org.xml.sax.InputSource;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.xml.transform.*;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
+import java.net.JarURLConnection;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
+import java.net.URLConnection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -170,6 +177,11 @@ import java.util.Map;
  * <li><b>parse</b> - true by default. If set to false, the location param will
  * not be parsed for Ognl expressions.</li>
  *
+ * <li><b>streaming</b> - false by default. If set to true, the exposed value is
+ * written to the transformer as a stream of SAX events instead of being adapted
+ * as a DOM, which needs far less memory for large results but reads every
+ * property of the exposed object graph.</li>
+ *
  * <!--
  * <li><b>matchingPattern</b> - Pattern that matches only desired elements, by
  * default it matches everything.</li>
@@ -185,8 +197,10 @@ import java.util.Map;
  * </p>
  * <ul>
  *
- * <li><b>struts.xslt.nocache</b> - Defaults to false. If set to true, disables
- * stylesheet caching. Good for development, bad for production.</li>
+ * <li><b>struts.xslt.nocache</b> - Defaults to false. If set to true, the
+ * stylesheet is checked for modifications on each request and reloaded when it
+ * changed, or always when its modification time is unknown. Good for
+ * development, bad for production.</li>
  *
  * </ul>
  *
@@ -212,13 +226,44 @@ public class XSLTResult implements Result {
     /** 'stylesheetLocation' parameter.  Points to the xsl. */
     public static final String DEFAULT_PARAM = "stylesheetLocation";
 
+    /** Number of transformers kept for reuse per stylesheet. */
+    private static final int MAX_POOLED_TRANSFORMERS = 8;
+
     /**
      * Cache of all templates.
      */
-    private static final Map<String, Templates> templatesCache;
+    private static final ConcurrentMap<String, CachedStylesheet> templatesCache;
+
+    /** Pool of identity transformers used when there is no stylesheet. */
+    private static final CachedStylesheet identityStylesheet;
+
+    /** Shared factory, only used while holding the lock of the templatesCache. */
+    private static TransformerFactory transformerFactory;
+
+    private static final ErrorListener errorListener = new ErrorListener() {
+
+        public void error(TransformerException exception)
+                throws TransformerException {
+            throw new StrutsException("Error transforming result", exception);
+        }
+
+        public void fatalError(TransformerException exception)
+                throws TransformerException {
+            throw new StrutsException("Fatal error transforming result", exception);
+        }
+
+        public void warning(TransformerException exception)
+                throws TransformerException {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn(exception.getMessage(), exception);
+            }
+        }
+
+    };
 
     static {
-        templatesCache = new HashMap<>();
+        templatesCache = new ConcurrentHashMap<>();
+        identityStylesheet = new CachedStylesheet(null, 0);
     }
 
     // Configurable Parameters
@@ -244,6 +289,7 @@ public class XSLTResult implements Result {
     private String encoding = "UTF-8";
 
     private boolean parse;
+    private boolean streaming;
     private AdapterFactory adapterFactory;
 
     public XSLTResult() {
@@ -304,6 +350,13 @@ public class XSLTResult implements Result {
         this.parse = parse;
     }
 
+    /**
+     * @param streaming if true, stream the exposed value to the transformer as SAX events instead of adapting it as a DOM.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     public void execute(ActionInvocation invocation) throws Exception {
         long startTime = System.currentTimeMillis();
         String location = getStylesheetLocation();
@@ -320,36 +373,18 @@ public class XSLTResult implements Result {
             response.setCharacterEncoding(encoding);
             PrintWriter writer = response.getWriter();
 
-            // Create a transformer for the stylesheet.
+            // Borrow a transformer for the stylesheet.
             Templates templates = null;
-            Transformer transformer;
+            CachedStylesheet stylesheet;
             if (location != null) {
                 templates = getTemplates(location);
-                transformer = templates.newTransformer();
+                stylesheet = getCachedStylesheet(location, templates);
             } else
-                transformer = TransformerFactory.newInstance().newTransformer();
+                stylesheet = identityStylesheet;
 
+            Transformer transformer = stylesheet.borrowTransformer();
             transformer.setURIResolver(getURIResolver());
-            transformer.setErrorListener(new ErrorListener() {
-
-                public void error(TransformerException exception)
-                        throws TransformerException {
-                    throw new StrutsException("Error transforming result", exception);
-                }
-
-                public void fatalError(TransformerException exception)
-                        throws TransformerException {
-                    throw new StrutsException("Fatal error transforming result", exception);
-                }
-
-                public void warning(TransformerException exception)
-                        throws TransformerException {
-                    if (LOG.isWarnEnabled()) {
-                	LOG.warn(exception.getMessage(), exception);
-                    }
-                }
-                
-            });
+            transformer.setErrorListener(errorListener);
 
             String mimeType;
             if (templates == null)
@@ -369,11 +404,12 @@ public class XSLTResult implements Result {
                 result = stack.findValue(exposedValue);
             }
 
-            Source xmlSource = getDOMSourceForStack(result);
+            Source xmlSource = streaming ? getSAXSourceForStack(result) : getDOMSourceForStack(result);
 
             // Transform the source XML to System.out.
             LOG.debug("xmlSource = {}", xmlSource);
             transformer.transform(xmlSource, new StreamResult(writer));
+            stylesheet.releaseTransformer(transformer);
 
             writer.flush(); // ...and flush...
 
@@ -408,30 +444,124 @@ public class XSLTResult implements Result {
         if (path == null)
             throw new TransformerException("Stylesheet path is null");
 
-        Templates templates = templatesCache.get(path);
+        CachedStylesheet stylesheet = templatesCache.get(path);
+        if (stylesheet != null && !noCache) {
+            return stylesheet.templates;
+        }
 
-        if (noCache || (templates == null)) {
-            synchronized (templatesCache) {
-                URL resource = ServletActionContext.getServletContext().getResource(path);
+        URL resource = ServletActionContext.getServletContext().getResource(path);
+
+        if (resource == null) {
+            throw new TransformerException("Stylesheet " + path + " not found in resources.");
+        }
+
+        long lastModified = getLastModified(resource);
+        if (stylesheet != null && lastModified != 0 && lastModified == stylesheet.lastModified) {
+            return stylesheet.templates;
+        }
+
+        synchronized (templatesCache) {
+            CachedStylesheet current = templatesCache.get(path);
+            if (current != null && current != stylesheet) {
+                // loaded by another thread in the meantime
+                return current.templates;
+            }
+
+            LOG.debug("Preparing XSLT stylesheet templates: {}", path);
 
-                if (resource == null) {
-                    throw new TransformerException("Stylesheet " + path + " not found in resources.");
-                }
+            TransformerFactory factory = getTransformerFactory();
+            factory.setURIResolver(getURIResolver());
+            Templates templates;
+            InputStream in = resource.openStream();
+            try {
+                templates = factory.newTemplates(new StreamSource(in));
+            } finally {
+                in.close();
+            }
+            templatesCache.put(path, new CachedStylesheet(templates, lastModified));
+            return templates;
+        }
+    }
 
-                LOG.debug("Preparing XSLT stylesheet templates: {}", path);
+    /**
+     * @return the cached stylesheet holding the transformers for the given templates, or a stylesheet not shared
+     * with other requests if the templates aren't cached, e.g. when getTemplates(String) was overridden
+     */
+    private CachedStylesheet getCachedStylesheet(String path, Templates templates) {
+        CachedStylesheet stylesheet = templatesCache.get(path);
+        if (stylesheet != null && stylesheet.templates == templates) {
+            return stylesheet;
+        }
+        return new CachedStylesheet(templates, 0);
+    }
 
-                TransformerFactory factory = TransformerFactory.newInstance();
-                factory.setURIResolver(getURIResolver());
-                templates = factory.newTemplates(new StreamSource(resource.openStream()));
-                templatesCache.put(path, templates);
+    private long getLastModified(URL resource) {
+        try {
+            URLConnection connection = resource.openConnection();
+            if (connection instanceof JarURLConnection) {
+                // a jar connection leaves the jar open, so the modification time is read from the URL of
+                // the jar itself, which is what the jar connection returns as well
+                connection = ((JarURLConnection) connection).getJarFileURL().openConnection();
             }
+            connection.setUseCaches(false);
+            long lastModified = connection.getLastModified();
+            // the connection keeps the resource open until its stream is closed, for files just to get their length
+            connection.getInputStream().close();
+            return lastModified;
+        } catch (IOException e) {
+            LOG.debug("Cannot get the modification time of stylesheet: {}", resource, e);
+            return 0;
         }
+    }
 
-        return templates;
+    private static TransformerFactory getTransformerFactory() {
+        synchronized (templatesCache) {
+            if (transformerFactory == null) {
+                transformerFactory = TransformerFactory.newInstance();
+            }
+            return transformerFactory;
+        }
     }
 
     protected Source getDOMSourceForStack(Object value)
             throws IllegalAccessException, InstantiationException {
         return new DOMSource(getAdapterFactory().adaptDocument("result", value) );
     }
+
+    protected Source getSAXSourceForStack(Object value) {
+        return new SAXSource(new BeanXMLReader(getAdapterFactory(), "result", value), new InputSource());
+    }
+
+    /**
+     * Compiled stylesheet with a bounded pool of transformers, which are reset before they are reused.
+     * Without templates it pools identity transformers.
+     */
+    private static final class CachedStylesheet {
+        private final Templates templates;
+        private final long lastModified;
+        private final BlockingQueue<Transformer> transformers = new ArrayBlockingQueue<>(MAX_POOLED_TRANSFORMERS);
+
+        CachedStylesheet(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+
+        Transformer borrowTransformer() throws TransformerConfigurationException {
+            Transformer transformer = transformers.poll();
+            if (transformer != null) {
+                return transformer;
+            }
+            if (templates != null) {
+                return templates.newTransformer();
+            }
+            synchronized (templatesCache) {
+                return getTransformerFactory().newTransformer();
+            }
+        }
+
+        void releaseTransformer(Transformer transformer) {
+            transformer.reset();
+            transformers.offer(transformer);
+        }
+    }
 }